@@ -0,0 +1,93 @@
+package be.twofold.tinyjson.benchmark;
+
+import be.twofold.tinyjson.*;
+import be.twofold.tinyjson.bind.*;
+import be.twofold.tinyjson.read.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.*;
+import java.nio.charset.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BindBenchmark {
+
+    @Param({"1000"})
+    private int count;
+
+    private final JsonBinder binder = new JsonBinder();
+    private Order[] orders;
+    private byte[] bytes;
+
+    @Setup
+    public void setup() throws IOException {
+        Random random = new Random(42);
+        orders = new Order[count];
+        for (int i = 0; i < count; i++) {
+            orders[i] = Order.random(random);
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new JsonWriter(out).write(binder.serialize(orders));
+        bytes = out.toByteArray();
+    }
+
+    @Benchmark
+    public Order[] readTree() {
+        return binder.deserialize(Json.parse(bytes), Order[].class);
+    }
+
+    @Benchmark
+    public Order[] readStreaming() {
+        return binder.deserialize(new JsonReader(bytes, 0, bytes.length).internKeys(true), Order[].class);
+    }
+
+    @Benchmark
+    public void writeTree() throws IOException {
+        new JsonWriter(Discard.Instance).write(binder.serialize(orders));
+    }
+
+    @Benchmark
+    public void writeStreaming() throws IOException {
+        binder.serialize(orders, new JsonWriter(Discard.Instance));
+    }
+
+    public static final class Order {
+        long id;
+        String customer;
+        String status;
+        boolean paid;
+        double total;
+        List<Line> lines;
+
+        static Order random(Random random) {
+            Order order = new Order();
+            order.id = random.nextInt(1_000_000);
+            order.customer = "customer-" + random.nextInt(10_000);
+            order.status = random.nextBoolean() ? "shipped" : "pending";
+            order.paid = random.nextBoolean();
+            order.lines = new ArrayList<>();
+            for (int i = random.nextInt(5) + 1; i > 0; i--) {
+                Line line = new Line();
+                line.sku = "sku-" + random.nextInt(100_000);
+                line.quantity = random.nextInt(10) + 1;
+                line.price = random.nextInt(10_000) / 100.0;
+                order.lines.add(line);
+                order.total += line.quantity * line.price;
+            }
+            return order;
+        }
+    }
+
+    public static final class Line {
+        String sku;
+        int quantity;
+        double price;
+    }
+
+}
@@ -0,0 +1,147 @@
+package be.twofold.tinyjson.benchmark;
+
+import be.twofold.tinyjson.*;
+import be.twofold.tinyjson.read.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.*;
+
+import java.io.*;
+import java.nio.charset.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+// The whole library over a handful of differently shaped documents, each somewhere between 0.7 and 1 MB.
+// Run with -prof gc to see the allocation rate next to the throughput.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CorpusBenchmark {
+
+    @Param({"twitter", "numeric", "deep", "longStrings", "unicode"})
+    private String corpus;
+
+    private String json;
+    private byte[] bytes;
+    private JsonValue tree;
+
+    @Setup
+    public void setup() {
+        json = Payloads.corpus(corpus);
+        bytes = json.getBytes(StandardCharsets.UTF_8);
+        tree = Json.parse(bytes);
+    }
+
+    // region Read
+
+    @Benchmark
+    public JsonValue parseString() {
+        return Json.parse(json);
+    }
+
+    @Benchmark
+    public JsonValue parseBytes() {
+        return Json.parse(bytes);
+    }
+
+    @Benchmark
+    public void stream(Blackhole blackhole) {
+        JsonReader reader = new JsonReader(bytes, 0, bytes.length);
+        read(reader, blackhole);
+    }
+
+    @Benchmark
+    public void skip() {
+        new JsonReader(bytes, 0, bytes.length).skipValue();
+    }
+
+    private static void read(JsonReader reader, Blackhole blackhole) {
+        switch (reader.peek()) {
+            case ObjectStart:
+                reader.beginObject();
+                while (reader.hasNext()) {
+                    blackhole.consume(reader.nextName());
+                    read(reader, blackhole);
+                }
+                reader.endObject();
+                break;
+            case ArrayStart:
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    read(reader, blackhole);
+                }
+                reader.endArray();
+                break;
+            case String:
+                blackhole.consume(reader.nextString());
+                break;
+            case Number:
+                blackhole.consume(reader.nextDouble());
+                break;
+            case True:
+            case False:
+                blackhole.consume(reader.nextBoolean());
+                break;
+            case Null:
+                reader.nextNull();
+                break;
+            default:
+                throw new IllegalStateException("Unexpected token: " + reader.peek());
+        }
+    }
+
+    // endregion
+
+    // region Write
+
+    @Benchmark
+    public String writeString() throws IOException {
+        StringWriter out = new StringWriter(json.length());
+        new JsonWriter(out).write(tree);
+        return out.toString();
+    }
+
+    @Benchmark
+    public void writeBytes() throws IOException {
+        new JsonWriter(Discard.Instance).write(tree);
+    }
+
+    // endregion
+
+    // region Tree
+
+    @Benchmark
+    public JsonValue copy() {
+        return tree.copy();
+    }
+
+    @Benchmark
+    public void walk(Blackhole blackhole) {
+        walk(tree, blackhole);
+    }
+
+    private static void walk(JsonValue value, Blackhole blackhole) {
+        if (value.isObject()) {
+            for (Map.Entry<String, JsonValue> entry : value.asObject()) {
+                blackhole.consume(entry.getKey());
+                walk(entry.getValue(), blackhole);
+            }
+        } else if (value.isArray()) {
+            JsonArray array = value.asArray();
+            for (int i = 0; i < array.size(); i++) {
+                walk(array.get(i), blackhole);
+            }
+        } else if (value.isNumber()) {
+            blackhole.consume(value.asDouble());
+        } else if (value.isString()) {
+            blackhole.consume(value.asString());
+        } else if (value.isBoolean()) {
+            blackhole.consume(value.asBoolean());
+        }
+    }
+
+    // endregion
+
+}
@@ -0,0 +1,19 @@
+package be.twofold.tinyjson.benchmark;
+
+import java.io.*;
+
+// Measures the writer alone, without the cost of keeping the output around
+final class Discard extends OutputStream {
+    static final Discard Instance = new Discard();
+
+    private Discard() {
+    }
+
+    @Override
+    public void write(int b) {
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+    }
+}
@@ -0,0 +1,40 @@
+package be.twofold.tinyjson.benchmark;
+
+import be.twofold.tinyjson.*;
+import be.twofold.tinyjson.read.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.*;
+import java.util.concurrent.*;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MessageBenchmark {
+
+    // a small request body, parsed once per message
+    private static final String Message = "{\"id\": 12345, \"type\": \"order\", \"customer\": {\"name\": \"Jane Doe\", " +
+        "\"email\": \"jane@example.com\"}, \"items\": [{\"sku\": \"A-1\", \"quantity\": 2, \"price\": 9.99}, " +
+        "{\"sku\": \"B-22\", \"quantity\": 1, \"price\": 24.5}], \"note\": \"Leave at the door, please\"}";
+
+    private final JsonParser parser = new JsonParser(new StringReader(""));
+
+    @Benchmark
+    public JsonValue parseNew() {
+        return new JsonParser(new StringReader(Message)).parse();
+    }
+
+    @Benchmark
+    public JsonValue parsePooled() {
+        return Json.parse(Message);
+    }
+
+    @Benchmark
+    public JsonValue parseReset() {
+        return parser.reset(new StringReader(Message)).parse();
+    }
+
+}
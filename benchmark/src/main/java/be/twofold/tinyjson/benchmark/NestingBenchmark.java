@@ -0,0 +1,47 @@
+package be.twofold.tinyjson.benchmark;
+
+import be.twofold.tinyjson.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.*;
+import java.util.concurrent.*;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NestingBenchmark {
+
+    @Param({"10", "500"})
+    private int depth;
+
+    private byte[] bytes;
+
+    @Setup
+    public void setup() {
+        // many small documents of the given depth, side by side in one array
+        StringBuilder builder = new StringBuilder("[");
+        for (int i = 0; i < 100_000 / depth; i++) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            for (int j = 0; j < depth; j++) {
+                builder.append(j % 2 == 0 ? "[" : "{\"key\":");
+            }
+            builder.append(i);
+            for (int j = depth - 1; j >= 0; j--) {
+                builder.append(j % 2 == 0 ? "]" : "}");
+            }
+        }
+        builder.append(']');
+        bytes = builder.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public JsonValue parse() {
+        return Json.parse(bytes);
+    }
+
+}
@@ -0,0 +1,50 @@
+package be.twofold.tinyjson.benchmark;
+
+import be.twofold.tinyjson.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.*;
+import java.nio.charset.*;
+import java.util.concurrent.*;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParseBenchmark {
+
+    @Param({"10000"})
+    private int records;
+
+    private String json;
+    private byte[] bytes;
+
+    @Setup
+    public void setup() {
+        json = Payloads.records(records);
+        bytes = json.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public JsonValue parseString() {
+        return Json.parse(json);
+    }
+
+    @Benchmark
+    public JsonValue parseInputStreamReader() {
+        return Json.parse(new InputStreamReader(new ByteArrayInputStream(bytes), StandardCharsets.UTF_8));
+    }
+
+    @Benchmark
+    public JsonValue parseBytes() {
+        return Json.parse(bytes);
+    }
+
+    @Benchmark
+    public JsonValue parseInputStream() {
+        return Json.parse(new ByteArrayInputStream(bytes));
+    }
+
+}
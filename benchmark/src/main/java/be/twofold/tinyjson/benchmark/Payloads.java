@@ -0,0 +1,262 @@
+package be.twofold.tinyjson.benchmark;
+
+import java.util.*;
+
+final class Payloads {
+
+    private static final String[][] Scripts = {
+        {"fr", "àâçéèêëîïôûùüÿœæ"},
+        {"ru", "абвгдеёжзийклмнопрстуфхцчшщыэюя"},
+        {"el", "αβγδεζηθικλμνξοπρστυφχψω"},
+        {"ja", "あいうえおかきくけこさしすせそ日本語漢字"},
+        {"zh", "的一是不了人我在有他这中大来上国个到说们"},
+        {"emoji", "😀😂👍🎉"},
+    };
+
+    private Payloads() {
+        throw new UnsupportedOperationException();
+    }
+
+    static String corpus(String name) {
+        switch (name) {
+            case "twitter":
+                return twitter(1000);
+            case "numeric":
+                return numeric(2_000);
+            case "deep":
+                return deep(300, 200);
+            case "longStrings":
+                return longStrings(250, 4096);
+            case "unicode":
+                return unicode(2000);
+            default:
+                throw new IllegalArgumentException(name);
+        }
+    }
+
+    static String records(int count) {
+        Random random = new Random(42);
+        StringBuilder builder = new StringBuilder();
+        builder.append('[');
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            builder.append("{\"id\":").append(random.nextInt(1_000_000))
+                .append(",\"name\":\"").append(word(random, 12)).append('"')
+                .append(",\"score\":").append(random.nextDouble() * 100)
+                .append(",\"active\":").append(random.nextBoolean())
+                .append(",\"parent\":null")
+                .append(",\"tags\":[\"").append(word(random, 5)).append("\",\"").append(word(random, 7)).append("\"]")
+                .append(",\"text\":\"").append(word(random, 40)).append("\\n").append(word(random, 20)).append('"')
+                .append('}');
+        }
+        builder.append(']');
+        return builder.toString();
+    }
+
+    static String nested(int count, int depth) {
+        Random random = new Random(42);
+        StringBuilder builder = new StringBuilder();
+        builder.append('[');
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            nested(builder, random, depth);
+        }
+        builder.append(']');
+        return builder.toString();
+    }
+
+    private static void nested(StringBuilder builder, Random random, int depth) {
+        builder.append("{\"id\":").append(random.nextInt(1_000_000))
+            .append(",\"label\":\"").append(word(random, 16)).append("\\\"").append(word(random, 8)).append('"')
+            .append(",\"values\":[").append(random.nextInt()).append(',').append(random.nextDouble()).append(",true,null]");
+        if (depth > 0) {
+            builder.append(",\"children\":[");
+            for (int i = 0; i < 3; i++) {
+                if (i > 0) {
+                    builder.append(',');
+                }
+                nested(builder, random, depth - 1);
+            }
+            builder.append(']');
+        }
+        builder.append('}');
+    }
+
+    // Statuses shaped like the Twitter search API, with a nested user, entities, large ids and the odd non-ASCII text
+    static String twitter(int count) {
+        Random random = new Random(42);
+        StringBuilder builder = new StringBuilder();
+        builder.append("{\"statuses\":[");
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            long id = 505874924095815681L + random.nextInt(1_000_000_000);
+            builder.append("{\"created_at\":\"Sun Aug 31 00:29:15 +0000 2014\"")
+                .append(",\"id\":").append(id)
+                .append(",\"id_str\":\"").append(id).append('"')
+                .append(",\"text\":\"").append(sentence(random, 12, i % 4 == 0)).append('"')
+                .append(",\"source\":\"<a href=\\\"http://twitter.com/download/iphone\\\" rel=\\\"nofollow\\\">Twitter for iPhone</a>\"")
+                .append(",\"truncated\":false")
+                .append(",\"in_reply_to_status_id\":null")
+                .append(",\"user\":{\"id\":").append(random.nextInt(Integer.MAX_VALUE))
+                .append(",\"name\":\"").append(word(random, 10)).append('"')
+                .append(",\"screen_name\":\"").append(word(random, 8)).append('"')
+                .append(",\"description\":\"").append(sentence(random, 8, i % 3 == 0)).append('"')
+                .append(",\"followers_count\":").append(random.nextInt(100_000))
+                .append(",\"friends_count\":").append(random.nextInt(5_000))
+                .append(",\"verified\":").append(random.nextInt(10) == 0)
+                .append(",\"profile_background_color\":\"C0DEED\"")
+                .append(",\"default_profile\":").append(random.nextBoolean())
+                .append('}')
+                .append(",\"geo\":null")
+                .append(",\"coordinates\":null")
+                .append(",\"retweet_count\":").append(random.nextInt(1000))
+                .append(",\"favorite_count\":").append(random.nextInt(1000))
+                .append(",\"entities\":{\"hashtags\":[");
+            for (int j = random.nextInt(3); j > 0; j--) {
+                builder.append("{\"text\":\"").append(word(random, 6)).append("\",\"indices\":[")
+                    .append(random.nextInt(100)).append(',').append(random.nextInt(140)).append("]}")
+                    .append(j > 1 ? "," : "");
+            }
+            builder.append("],\"urls\":[],\"user_mentions\":[]}")
+                .append(",\"favorited\":false")
+                .append(",\"retweeted\":false")
+                .append(",\"lang\":\"").append(i % 4 == 0 ? "ja" : "en").append('"')
+                .append('}');
+        }
+        builder.append("],\"search_metadata\":{\"completed_in\":0.087,\"max_id\":505874924095815681,\"count\":")
+            .append(count).append("}}");
+        return builder.toString();
+    }
+
+    // GeoJSON-like features, mostly coordinate pairs with a few integer properties
+    static String numeric(int count) {
+        Random random = new Random(42);
+        StringBuilder builder = new StringBuilder();
+        builder.append("{\"type\":\"FeatureCollection\",\"features\":[");
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            builder.append("{\"id\":").append(i)
+                .append(",\"population\":").append(random.nextInt(10_000_000))
+                .append(",\"elevation\":").append(random.nextInt(9000) - 400)
+                .append(",\"coordinates\":[");
+            for (int j = 0; j < 8; j++) {
+                if (j > 0) {
+                    builder.append(',');
+                }
+                builder.append('[').append(random.nextDouble() * 360 - 180)
+                    .append(',').append(random.nextDouble() * 180 - 90).append(']');
+            }
+            builder.append("]}");
+        }
+        builder.append("]}");
+        return builder.toString();
+    }
+
+    // Chains of alternating objects and arrays, each one the given number of levels deep
+    static String deep(int count, int depth) {
+        StringBuilder builder = new StringBuilder();
+        builder.append('[');
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            for (int j = 0; j < depth; j++) {
+                builder.append(j % 2 == 0 ? "{\"level\":" + j + ",\"next\":" : "[");
+            }
+            builder.append(i);
+            for (int j = depth - 1; j >= 0; j--) {
+                builder.append(j % 2 == 0 ? "}" : ",true]");
+            }
+        }
+        builder.append(']');
+        return builder.toString();
+    }
+
+    // Few, large string values that are mostly plain text with an escape every so often
+    static String longStrings(int count, int length) {
+        Random random = new Random(42);
+        StringBuilder builder = new StringBuilder();
+        builder.append('[');
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            builder.append("{\"name\":\"").append(word(random, 8)).append("\",\"body\":\"");
+            for (int j = 0; j < length; j += 64) {
+                builder.append(word(random, 62)).append(random.nextInt(4) == 0 ? "\\n" : "  ");
+            }
+            builder.append("\"}");
+        }
+        builder.append(']');
+        return builder.toString();
+    }
+
+    // Messages in several scripts, both as raw UTF-8 and as unicode escapes, including surrogate pairs
+    static String unicode(int count) {
+        Random random = new Random(42);
+        StringBuilder builder = new StringBuilder();
+        builder.append('[');
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            builder.append("{\"lang\":\"").append(Scripts[i % Scripts.length][0]).append('"')
+                .append(",\"text\":\"").append(text(random, Scripts[i % Scripts.length], 80)).append('"')
+                .append(",\"escaped\":\"");
+            for (int j = 0; j < 16; j++) {
+                builder.append(String.format("\\u%04x", 0x4e00 + random.nextInt(0x5000)));
+            }
+            builder.append("\\ud83d\\ude00\"}");
+        }
+        builder.append(']');
+        return builder.toString();
+    }
+
+    private static String text(Random random, String[] script, int length) {
+        String chars = script[1];
+        StringBuilder builder = new StringBuilder(length * 2);
+        for (int i = 0; i < length; i++) {
+            int index = random.nextInt(chars.length());
+            char c = chars.charAt(index);
+            if (Character.isSurrogate(c)) {
+                // keep pairs together
+                index &= ~1;
+                builder.append(chars, index, index + 2);
+            } else {
+                builder.append(c);
+            }
+            if (random.nextInt(6) == 0) {
+                builder.append(' ');
+            }
+        }
+        return builder.toString();
+    }
+
+    private static String sentence(Random random, int words, boolean unicode) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                builder.append(' ');
+            }
+            builder.append(unicode && i % 3 == 0 ? text(random, Scripts[3], 4) : word(random, 3 + random.nextInt(6)));
+        }
+        return builder.toString();
+    }
+
+    private static String word(Random random, int length) {
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = (char) ('a' + random.nextInt(26));
+        }
+        return new String(chars);
+    }
+
+}
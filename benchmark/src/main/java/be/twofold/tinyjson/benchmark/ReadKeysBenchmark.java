@@ -0,0 +1,68 @@
+package be.twofold.tinyjson.benchmark;
+
+import be.twofold.tinyjson.*;
+import be.twofold.tinyjson.read.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReadKeysBenchmark {
+
+    @Param({"false", "true"})
+    private boolean internKeys;
+
+    @Param({"10000"})
+    private int count;
+
+    private byte[] bytes;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        StringBuilder builder = new StringBuilder();
+        builder.append('[');
+        for (int i = 0; i < count; i++) {
+            builder.append(i > 0 ? ",{" : "{");
+            for (int j = 0; j < 20; j++) {
+                if (j > 0) {
+                    builder.append(',');
+                }
+                builder.append("\"field").append(j).append("\":").append(random.nextInt(1000));
+            }
+            builder.append('}');
+        }
+        builder.append(']');
+        bytes = builder.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public JsonValue parseTree() {
+        return new JsonParser(bytes, 0, bytes.length).internKeys(internKeys).parse();
+    }
+
+    @Benchmark
+    public int readNames() {
+        JsonReader reader = new JsonReader(bytes, 0, bytes.length).internKeys(internKeys);
+        int hash = 0;
+        reader.beginArray();
+        while (reader.hasNext()) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                hash += reader.nextName().length();
+                hash += reader.nextInt();
+            }
+            reader.endObject();
+        }
+        reader.endArray();
+        return hash;
+    }
+
+}
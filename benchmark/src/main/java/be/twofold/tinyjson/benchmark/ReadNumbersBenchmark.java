@@ -0,0 +1,72 @@
+package be.twofold.tinyjson.benchmark;
+
+import be.twofold.tinyjson.*;
+import be.twofold.tinyjson.read.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReadNumbersBenchmark {
+
+    @Param({"longs", "doubles"})
+    private String numbers;
+
+    @Param({"10000"})
+    private int count;
+
+    private byte[] bytes;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        StringBuilder builder = new StringBuilder();
+        builder.append('[');
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            if (numbers.equals("longs")) {
+                builder.append(random.nextLong() >> random.nextInt(48));
+            } else {
+                builder.append(random.nextDouble() * Math.pow(10, random.nextInt(12) - 4));
+            }
+        }
+        builder.append(']');
+        bytes = builder.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public JsonValue parseTree() {
+        return Json.parse(bytes);
+    }
+
+    @Benchmark
+    public double sumTree() {
+        double sum = 0;
+        for (JsonValue value : Json.parse(bytes).asArray()) {
+            sum += value.asDouble();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public double sumReader() {
+        JsonReader reader = new JsonReader(bytes, 0, bytes.length);
+        double sum = 0;
+        reader.beginArray();
+        while (reader.hasNext()) {
+            sum += numbers.equals("longs") ? reader.nextLong() : reader.nextDouble();
+        }
+        reader.endArray();
+        return sum;
+    }
+
+}
@@ -0,0 +1,62 @@
+package be.twofold.tinyjson.benchmark;
+
+import be.twofold.tinyjson.*;
+import be.twofold.tinyjson.read.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.*;
+import java.util.concurrent.*;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SkipBenchmark {
+
+    @Param({"1000"})
+    private int count;
+
+    @Param({"4"})
+    private int depth;
+
+    private byte[] bytes;
+
+    @Setup
+    public void setup() {
+        bytes = Payloads.nested(count, depth).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public JsonValue parseTree() {
+        return Json.parse(bytes);
+    }
+
+    @Benchmark
+    public void skipDocument() {
+        JsonReader reader = new JsonReader(bytes, 0, bytes.length);
+        reader.skipValue();
+    }
+
+    @Benchmark
+    public long pickIds() {
+        JsonReader reader = new JsonReader(bytes, 0, bytes.length);
+        long sum = 0;
+        reader.beginArray();
+        while (reader.hasNext()) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                if (reader.nextName().equals("id")) {
+                    sum += reader.nextLong();
+                } else {
+                    reader.skipValue();
+                }
+            }
+            reader.endObject();
+        }
+        reader.endArray();
+        return sum;
+    }
+
+}
@@ -0,0 +1,85 @@
+package be.twofold.tinyjson.benchmark;
+
+import be.twofold.tinyjson.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.*;
+import java.nio.*;
+import java.nio.charset.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WriteBenchmark {
+
+    @Param({"ascii", "escapes", "nonLatin"})
+    private String strings;
+
+    @Param({"10000"})
+    private int count;
+
+    private JsonArray array;
+    private ByteBuffer buffer;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        array = Json.array();
+        for (int i = 0; i < count; i++) {
+            array.add(string(random, 32));
+        }
+        buffer = ByteBuffer.allocate(count * 32 * 6 + 1024);
+    }
+
+    private String string(Random random, int length) {
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            switch (strings) {
+                case "ascii":
+                    builder.append((char) ('a' + random.nextInt(26)));
+                    break;
+                case "escapes":
+                    builder.append(i % 4 == 0 ? "\"\\\n\t".charAt(random.nextInt(4)) : (char) ('a' + random.nextInt(26)));
+                    break;
+                case "nonLatin":
+                    builder.append((char) (0x4e00 + random.nextInt(0x5000)));
+                    break;
+                default:
+                    throw new IllegalArgumentException(strings);
+            }
+        }
+        return builder.toString();
+    }
+
+    @Benchmark
+    public String writeStringWriter() throws IOException {
+        StringWriter out = new StringWriter();
+        new JsonWriter(out).write(array);
+        return out.toString();
+    }
+
+    @Benchmark
+    public void writeOutputStreamWriter() throws IOException {
+        Writer out = new OutputStreamWriter(Discard.Instance, StandardCharsets.UTF_8);
+        new JsonWriter(out).write(array);
+        out.flush();
+    }
+
+    @Benchmark
+    public void writeOutputStream() throws IOException {
+        new JsonWriter(Discard.Instance).write(array);
+    }
+
+    @Benchmark
+    public ByteBuffer writeByteBuffer() throws IOException {
+        buffer.clear();
+        new JsonWriter(buffer).write(array);
+        return buffer;
+    }
+
+}
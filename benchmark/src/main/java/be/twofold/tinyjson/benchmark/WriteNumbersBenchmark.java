@@ -0,0 +1,52 @@
+package be.twofold.tinyjson.benchmark;
+
+import be.twofold.tinyjson.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WriteNumbersBenchmark {
+
+    @Param({"longs", "doubles", "parsed"})
+    private String numbers;
+
+    @Param({"10000"})
+    private int count;
+
+    private JsonArray array;
+
+    @Setup
+    public void setup() throws IOException {
+        Random random = new Random(42);
+        JsonArray values = Json.array();
+        for (int i = 0; i < count; i++) {
+            if (numbers.equals("longs")) {
+                values.add(random.nextLong() >> random.nextInt(48));
+            } else {
+                values.add(random.nextDouble() * Math.pow(10, random.nextInt(12) - 4));
+            }
+        }
+        if (numbers.equals("parsed")) {
+            StringWriter out = new StringWriter();
+            new JsonWriter(out).write(values);
+            values = Json.parse(out.toString()).asArray();
+        }
+        array = values;
+    }
+
+    @Benchmark
+    public String writeStringWriter() throws IOException {
+        StringWriter out = new StringWriter();
+        new JsonWriter(out).write(array);
+        return out.toString();
+    }
+
+}
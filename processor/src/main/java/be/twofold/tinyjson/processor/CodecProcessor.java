@@ -0,0 +1,151 @@
+package be.twofold.tinyjson.processor;
+
+import javax.annotation.processing.*;
+import javax.lang.model.*;
+import javax.lang.model.element.*;
+import javax.lang.model.type.*;
+import javax.lang.model.util.*;
+import javax.tools.*;
+import java.io.*;
+import java.nio.charset.*;
+import java.util.*;
+
+// Generates a JsonCodec for every class annotated with @Bindable, and lists them all for the ServiceLoader,
+// so binding those classes needs no reflection at all.
+@SupportedAnnotationTypes(CodecProcessor.Bindable)
+public final class CodecProcessor extends AbstractProcessor {
+    static final String Bindable = "be.twofold.tinyjson.bind.Bindable";
+    static final String Services = "META-INF/services/be.twofold.tinyjson.bind.JsonCodec";
+
+    private final Set<String> codecs = new TreeSet<>();
+    private final List<Element> origins = new ArrayList<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                generate(element);
+            }
+        }
+        if (roundEnv.processingOver() && !codecs.isEmpty()) {
+            writeServices();
+        }
+        return true;
+    }
+
+    private void generate(Element element) {
+        if (!check(element)) {
+            return;
+        }
+        TypeElement type = (TypeElement) element;
+        List<VariableElement> fields = fields(type);
+        if (fields == null) {
+            return;
+        }
+
+        CodecWriter writer = new CodecWriter(processingEnv.getElementUtils(), processingEnv.getTypeUtils(), type, fields);
+        try {
+            JavaFileObject file = processingEnv.getFiler().createSourceFile(writer.qualifiedName(), type);
+            try (Writer out = file.openWriter()) {
+                out.write(writer.write());
+            }
+        } catch (IOException e) {
+            error(type, "Could not write " + writer.qualifiedName() + ": " + e.getMessage());
+            return;
+        }
+        codecs.add(writer.qualifiedName());
+        origins.add(type);
+    }
+
+    private boolean check(Element element) {
+        if (element.getKind() != ElementKind.CLASS) {
+            return error(element, "@Bindable only applies to classes");
+        }
+        TypeElement type = (TypeElement) element;
+        if (type.getModifiers().contains(Modifier.ABSTRACT)) {
+            return error(type, "@Bindable classes must not be abstract");
+        }
+        if (!type.getTypeParameters().isEmpty()) {
+            return error(type, "@Bindable classes must not be generic");
+        }
+        for (Element e = type; e.getKind().isClass(); e = e.getEnclosingElement()) {
+            if (e.getModifiers().contains(Modifier.PRIVATE)) {
+                return error(type, "@Bindable classes must not be private");
+            }
+            if (e.getEnclosingElement().getKind().isClass() && !e.getModifiers().contains(Modifier.STATIC)) {
+                return error(type, "@Bindable classes must be top level or static");
+            }
+        }
+
+        List<ExecutableElement> constructors = ElementFilter.constructorsIn(type.getEnclosedElements());
+        for (ExecutableElement constructor : constructors) {
+            if (constructor.getParameters().isEmpty() && !constructor.getModifiers().contains(Modifier.PRIVATE)) {
+                return true;
+            }
+        }
+        return error(type, "@Bindable classes need a non-private no-arg constructor");
+    }
+
+    // Instance fields of the class and its superclasses, superclass fields first, like the reflective binding
+    private List<VariableElement> fields(TypeElement type) {
+        Deque<TypeElement> hierarchy = new ArrayDeque<>();
+        for (TypeElement t = type; t != null && !t.getQualifiedName().contentEquals("java.lang.Object"); t = superclass(t)) {
+            hierarchy.addFirst(t);
+        }
+
+        Elements elements = processingEnv.getElementUtils();
+        PackageElement pkg = elements.getPackageOf(type);
+        Map<String, VariableElement> fields = new LinkedHashMap<>();
+        boolean valid = true;
+        for (TypeElement t : hierarchy) {
+            for (VariableElement field : ElementFilter.fieldsIn(t.getEnclosedElements())) {
+                Set<Modifier> modifiers = field.getModifiers();
+                if (modifiers.contains(Modifier.STATIC) || modifiers.contains(Modifier.TRANSIENT)) {
+                    continue;
+                }
+                boolean visible = modifiers.contains(Modifier.PUBLIC)
+                    || !modifiers.contains(Modifier.PRIVATE) && elements.getPackageOf(t).equals(pkg);
+                if (!visible || modifiers.contains(Modifier.FINAL)) {
+                    valid = error(type, "Field " + t.getSimpleName() + "." + field.getSimpleName()
+                        + " must be non-private, non-final, and visible from " + pkg.getQualifiedName());
+                    continue;
+                }
+                String name = field.getSimpleName().toString();
+                fields.remove(name);
+                fields.put(name, field);
+            }
+        }
+        return valid ? new ArrayList<>(fields.values()) : null;
+    }
+
+    private static TypeElement superclass(TypeElement type) {
+        TypeMirror superclass = type.getSuperclass();
+        return superclass.getKind() == TypeKind.DECLARED ? (TypeElement) ((DeclaredType) superclass).asElement() : null;
+    }
+
+    private void writeServices() {
+        try {
+            FileObject file = processingEnv.getFiler().createResource(
+                StandardLocation.CLASS_OUTPUT, "", Services, origins.toArray(new Element[0]));
+            try (Writer out = new OutputStreamWriter(file.openOutputStream(), StandardCharsets.UTF_8)) {
+                for (String codec : codecs) {
+                    out.write(codec);
+                    out.write('\n');
+                }
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Could not write " + Services + ": " + e.getMessage());
+        }
+    }
+
+    private boolean error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+        return false;
+    }
+
+}
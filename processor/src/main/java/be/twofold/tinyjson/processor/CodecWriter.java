@@ -0,0 +1,245 @@
+package be.twofold.tinyjson.processor;
+
+import javax.lang.model.element.*;
+import javax.lang.model.type.*;
+import javax.lang.model.util.*;
+import java.util.*;
+
+// Writes the source of one codec. Everything is referenced by its qualified name, so nothing in the
+// package of the bound class can clash with it.
+final class CodecWriter {
+    private static final String Core = "be.twofold.tinyjson.";
+
+    private final Types types;
+    private final TypeElement type;
+    private final List<VariableElement> fields;
+    private final String packageName;
+    private final String simpleName;
+    private final Map<String, String> typeConstants = new LinkedHashMap<>();
+    private final StringBuilder builder = new StringBuilder();
+
+    CodecWriter(Elements elements, Types types, TypeElement type, List<VariableElement> fields) {
+        this.types = types;
+        this.type = type;
+        this.fields = fields;
+        this.packageName = elements.getPackageOf(type).getQualifiedName().toString();
+
+        // nested classes get their outer names as a prefix
+        StringBuilder name = new StringBuilder(type.getSimpleName());
+        for (Element e = type.getEnclosingElement(); e.getKind() != ElementKind.PACKAGE; e = e.getEnclosingElement()) {
+            name.insert(0, e.getSimpleName() + "_");
+        }
+        this.simpleName = name.append("_JsonCodec").toString();
+    }
+
+    String qualifiedName() {
+        return packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+    }
+
+    String write() {
+        String target = type.getQualifiedName().toString();
+
+        // the body first, as it collects the type constants
+        writeSerialize(target);
+        writeDeserialize(target);
+        writeWrite(target);
+        writeRead(target);
+        String body = builder.toString();
+
+        builder.setLength(0);
+        if (!packageName.isEmpty()) {
+            line(0, "package " + packageName + ";");
+            line(0, "");
+        }
+        line(0, "// Generated by tinyjson-processor from " + target + ", do not edit");
+        line(0, "public final class " + simpleName + " implements " + Core + "bind.JsonCodec<" + target + "> {");
+        for (Map.Entry<String, String> constant : typeConstants.entrySet()) {
+            line(1, "private static final java.lang.reflect.Type " + constant.getValue() + " = " + constant.getKey() + ";");
+        }
+        if (!typeConstants.isEmpty()) {
+            line(0, "");
+        }
+        line(1, "@Override");
+        line(1, "public java.lang.Class<" + target + "> type() {");
+        line(2, "return " + target + ".class;");
+        line(1, "}");
+        builder.append(body);
+        line(0, "}");
+        return builder.toString();
+    }
+
+    // region Methods
+
+    private void writeSerialize(String target) {
+        line(0, "");
+        line(1, "@Override");
+        line(1, "public " + Core + "JsonValue serialize(" + target + " object, " + Core + "JsonSerializationContext context) {");
+        line(2, Core + "JsonObject result = " + Core + "Json.object(" + fields.size() + ");");
+        for (VariableElement field : fields) {
+            String name = field.getSimpleName().toString();
+            TypeKind kind = fieldType(field).getKind();
+            String value;
+            if (kind == TypeKind.BOOLEAN) {
+                value = Core + "Json.bool(object." + name + ")";
+            } else if (isNumber(kind)) {
+                value = Core + "Json.number(object." + name + ")";
+            } else {
+                value = "context.serialize(object." + name + ")";
+            }
+            line(2, "result.add(" + quote(name) + ", " + value + ");");
+        }
+        line(2, "return result;");
+        line(1, "}");
+    }
+
+    private void writeDeserialize(String target) {
+        line(0, "");
+        line(1, "@Override");
+        line(1, "public " + target + " deserialize(" + Core + "JsonValue value, " + Core + "JsonDeserializationContext context) {");
+        line(2, Core + "JsonObject object = value.asObject();");
+        line(2, target + " result = new " + target + "();");
+        line(2, Core + "JsonValue field;");
+        for (VariableElement field : fields) {
+            String name = field.getSimpleName().toString();
+            line(2, "if ((field = object.get(" + quote(name) + ")) != null) {");
+            line(3, "result." + name + " = context.deserialize(field, " + typeOf(fieldType(field)) + ");");
+            line(2, "}");
+        }
+        line(2, "return result;");
+        line(1, "}");
+    }
+
+    private void writeWrite(String target) {
+        line(0, "");
+        line(1, "@Override");
+        line(1, "public void write(" + target + " object, " + Core + "JsonWriter writer, " + Core + "JsonSerializationContext context) throws java.io.IOException {");
+        line(2, "writer.beginObject();");
+        for (VariableElement field : fields) {
+            String name = field.getSimpleName().toString();
+            TypeKind kind = fieldType(field).getKind();
+            if (kind == TypeKind.BOOLEAN || isNumber(kind)) {
+                line(2, "writer.name(" + quote(name) + ").value(object." + name + ");");
+            } else {
+                line(2, "writer.name(" + quote(name) + ");");
+                line(2, "context.serialize(object." + name + ", writer);");
+            }
+        }
+        line(2, "writer.endObject();");
+        line(1, "}");
+    }
+
+    private void writeRead(String target) {
+        line(0, "");
+        line(1, "@Override");
+        line(1, "public " + target + " read(" + Core + "read.JsonReader reader, " + Core + "JsonDeserializationContext context) {");
+        line(2, target + " result = new " + target + "();");
+        line(2, "reader.beginObject();");
+        line(2, "while (reader.hasNext()) {");
+        line(3, "switch (reader.nextName()) {");
+        for (VariableElement field : fields) {
+            String name = field.getSimpleName().toString();
+            TypeMirror fieldType = fieldType(field);
+            line(4, "case " + quote(name) + ":");
+            String next = next(fieldType.getKind());
+            if (next != null) {
+                // a null goes through the context, which rejects it with the same message as everywhere else
+                line(5, "result." + name + " = reader.peek() == " + Core + "read.JsonTokenType.Null");
+                line(6, "? context.deserialize(reader, " + typeOf(fieldType) + ")");
+                line(6, ": " + next + ";");
+            } else {
+                line(5, "result." + name + " = context.deserialize(reader, " + typeOf(fieldType) + ");");
+            }
+            line(5, "break;");
+        }
+        line(4, "default:");
+        line(5, "reader.skipValue();");
+        line(5, "break;");
+        line(3, "}");
+        line(2, "}");
+        line(2, "reader.endObject();");
+        line(2, "return result;");
+        line(1, "}");
+    }
+
+    // endregion
+
+    // region Types
+
+    // As seen from the bound class, so a field inherited from a generic superclass gets its actual type
+    private TypeMirror fieldType(VariableElement field) {
+        return types.asMemberOf((DeclaredType) type.asType(), field);
+    }
+
+    private static boolean isNumber(TypeKind kind) {
+        return kind == TypeKind.BYTE || kind == TypeKind.SHORT || kind == TypeKind.INT
+            || kind == TypeKind.LONG || kind == TypeKind.FLOAT || kind == TypeKind.DOUBLE;
+    }
+
+    private static String next(TypeKind kind) {
+        switch (kind) {
+            case BOOLEAN:
+                return "reader.nextBoolean()";
+            case BYTE:
+                return "(byte) reader.nextInt()";
+            case SHORT:
+                return "(short) reader.nextInt()";
+            case INT:
+                return "reader.nextInt()";
+            case LONG:
+                return "reader.nextLong()";
+            case FLOAT:
+                return "(float) reader.nextDouble()";
+            case DOUBLE:
+                return "reader.nextDouble()";
+            default:
+                return null;
+        }
+    }
+
+    // A class literal, or a constant holding the parameterized type
+    private String typeOf(TypeMirror type) {
+        if (type.getKind() == TypeKind.DECLARED && !((DeclaredType) type).getTypeArguments().isEmpty()) {
+            String expression = genericType(type);
+            String constant = typeConstants.get(expression);
+            if (constant == null) {
+                constant = "Type" + typeConstants.size();
+                typeConstants.put(expression, constant);
+            }
+            return constant;
+        }
+        return types.erasure(type) + ".class";
+    }
+
+    private String genericType(TypeMirror type) {
+        switch (type.getKind()) {
+            case DECLARED:
+                List<? extends TypeMirror> arguments = ((DeclaredType) type).getTypeArguments();
+                if (arguments.isEmpty()) {
+                    return types.erasure(type) + ".class";
+                }
+                StringBuilder builder = new StringBuilder(Core + "bind.GenericType.of(" + types.erasure(type) + ".class");
+                for (TypeMirror argument : arguments) {
+                    builder.append(", ").append(genericType(argument));
+                }
+                return builder.append(')').toString();
+            case WILDCARD:
+                TypeMirror bound = ((WildcardType) type).getExtendsBound();
+                return bound != null ? genericType(bound) : "java.lang.Object.class";
+            default:
+                return types.erasure(type) + ".class";
+        }
+    }
+
+    // endregion
+
+    private static String quote(String name) {
+        return '"' + name + '"';
+    }
+
+    private void line(int indent, String line) {
+        for (int i = 0; i < indent; i++) {
+            builder.append("    ");
+        }
+        builder.append(line).append('\n');
+    }
+}
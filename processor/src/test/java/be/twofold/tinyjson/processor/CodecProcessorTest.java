@@ -0,0 +1,214 @@
+package be.twofold.tinyjson.processor;
+
+import be.twofold.tinyjson.*;
+import be.twofold.tinyjson.bind.*;
+import be.twofold.tinyjson.read.*;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.*;
+
+import javax.tools.*;
+import java.io.*;
+import java.lang.reflect.*;
+import java.net.*;
+import java.nio.charset.*;
+import java.nio.file.*;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class CodecProcessorTest {
+
+    private static final String Order = String.join("\n",
+        "package test;",
+        "",
+        "import be.twofold.tinyjson.bind.*;",
+        "import java.util.*;",
+        "",
+        "@Bindable",
+        "public class Order {",
+        "    long id;",
+        "    public String customer;",
+        "    boolean paid;",
+        "    double total;",
+        "    char grade;",
+        "    List<Line> lines;",
+        "    Map<String, List<Integer>> counts;",
+        "    transient String cache = \"initial\";",
+        "",
+        "    @Bindable",
+        "    public static class Line {",
+        "        String sku;",
+        "        int quantity;",
+        "    }",
+        "",
+        "    public static Order sample() {",
+        "        Order order = new Order();",
+        "        order.id = 42;",
+        "        order.customer = \"John\";",
+        "        order.paid = true;",
+        "        order.total = 1.5;",
+        "        order.grade = 'A';",
+        "        Line line = new Line();",
+        "        line.sku = \"sku-1\";",
+        "        line.quantity = 3;",
+        "        order.lines = Collections.singletonList(line);",
+        "        order.counts = Collections.singletonMap(\"a\", Arrays.asList(1, 2));",
+        "        return order;",
+        "    }",
+        "}");
+
+    @TempDir
+    Path output;
+
+    @Test
+    public void testGeneratedCodecs() throws Exception {
+        assertThat(compile(Collections.singletonMap("test.Order", Order))).isEmpty();
+        assertThat(output.resolve(CodecProcessor.Services))
+            .hasContent("test.Order_JsonCodec\ntest.Order_Line_JsonCodec");
+
+        try (URLClassLoader loader = new URLClassLoader(new URL[]{output.toUri().toURL()}, getClass().getClassLoader())) {
+            Class<?> type = loader.loadClass("test.Order");
+            JsonBinder binder = new JsonBinder(loader);
+            Object order = type.getMethod("sample").invoke(null);
+
+            JsonValue json = binder.serialize(order);
+            JsonValue expected = Json.parse("{\"id\":42,\"customer\":\"John\",\"paid\":true,\"total\":1.5,\"grade\":\"A\"," +
+                "\"lines\":[{\"sku\":\"sku-1\",\"quantity\":3}],\"counts\":{\"a\":[1,2]}}");
+            assertThat(json).isEqualTo(expected);
+
+            StringWriter out = new StringWriter();
+            binder.serialize(order, new JsonWriter(out));
+            assertThat(Json.parse(out.toString())).isEqualTo(expected);
+
+            // both the tree and the streaming path give back the same object
+            Object fromTree = binder.deserialize(json, type);
+            Object fromStream = binder.deserialize(new JsonReader(new StringReader(out.toString())), type);
+            assertThat(binder.serialize(fromTree)).isEqualTo(expected);
+            assertThat(binder.serialize(fromStream)).isEqualTo(expected);
+            assertThat(field(fromStream, "cache")).isEqualTo("initial");
+
+            // and the codecs are the generated ones, not the reflective fallback
+            Object codec = loader.loadClass("test.Order_JsonCodec").getConstructor().newInstance();
+            assertThat(((JsonCodec<?>) codec).type()).isEqualTo(type);
+
+            assertThatExceptionOfType(JsonException.class)
+                .isThrownBy(() -> binder.deserialize(new JsonReader(new StringReader("{\"paid\":null}")), type))
+                .withMessage("Cannot bind null to boolean");
+        }
+    }
+
+    @Test
+    public void testGeneratedSubtype() throws Exception {
+        String source = String.join("\n",
+            "package test;",
+            "",
+            "import be.twofold.tinyjson.bind.*;",
+            "",
+            "@Discriminator(value = \"kind\", subtypes = Shape.Circle.class)",
+            "public interface Shape {",
+            "",
+            "    @Bindable",
+            "    public static class Circle implements Shape {",
+            "        double radius;",
+            "",
+            "        public static Circle of(double radius) {",
+            "            Circle circle = new Circle();",
+            "            circle.radius = radius;",
+            "            return circle;",
+            "        }",
+            "    }",
+            "}");
+        assertThat(compile(Collections.singletonMap("test.Shape", source))).isEmpty();
+
+        try (URLClassLoader loader = new URLClassLoader(new URL[]{output.toUri().toURL()}, getClass().getClassLoader())) {
+            Class<?> base = loader.loadClass("test.Shape");
+            Class<?> type = loader.loadClass("test.Shape$Circle");
+            JsonBinder binder = new JsonBinder(loader);
+            Object circle = type.getMethod("of", double.class).invoke(null, 1.5);
+
+            // the generated codec doesn't know the discriminator, but it's written all the same
+            JsonValue expected = Json.parse("{\"kind\":\"Circle\",\"radius\":1.5}");
+            assertThat(binder.serialize(circle)).isEqualTo(expected);
+            StringWriter out = new StringWriter();
+            binder.serialize(circle, new JsonWriter(out));
+            assertThat(out.toString()).isEqualTo("{\"kind\":\"Circle\",\"radius\":1.5}");
+
+            Object fromTree = binder.deserialize(expected, base);
+            Object fromStream = binder.deserialize(new JsonReader(new StringReader(out.toString())), base);
+            assertThat(fromTree).isInstanceOf(type);
+            assertThat(fromStream).isInstanceOf(type);
+            assertThat(binder.serialize(fromTree)).isEqualTo(expected);
+            assertThat(binder.serialize(fromStream)).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    public void testErrors() throws IOException {
+        String source = String.join("\n",
+            "package test;",
+            "",
+            "@be.twofold.tinyjson.bind.Bindable",
+            "public class Invalid {",
+            "    private int hidden;",
+            "    final int fixed = 1;",
+            "",
+            "    public Invalid(int value) {",
+            "    }",
+            "}");
+
+        assertThat(compile(Collections.singletonMap("test.Invalid", source)))
+            .anySatisfy(message -> assertThat(message).contains("no-arg constructor"));
+
+        String fields = source.replace("public Invalid(int value) {", "Invalid() {");
+        assertThat(compile(Collections.singletonMap("test.Invalid", fields)))
+            .anySatisfy(message -> assertThat(message).contains("Invalid.hidden must be non-private"))
+            .anySatisfy(message -> assertThat(message).contains("Invalid.fixed must be non-private"));
+    }
+
+    private List<String> compile(Map<String, String> sources) throws IOException {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        try (StandardJavaFileManager files = compiler.getStandardFileManager(diagnostics, null, StandardCharsets.UTF_8)) {
+            files.setLocation(StandardLocation.CLASS_OUTPUT, Collections.singletonList(output.toFile()));
+            files.setLocation(StandardLocation.SOURCE_OUTPUT, Collections.singletonList(output.toFile()));
+
+            List<JavaFileObject> units = new ArrayList<>();
+            for (Map.Entry<String, String> source : sources.entrySet()) {
+                units.add(new Source(source.getKey(), source.getValue()));
+            }
+            List<String> options = Arrays.asList("-classpath", System.getProperty("java.class.path"));
+            JavaCompiler.CompilationTask task = compiler.getTask(null, files, diagnostics, options, null, units);
+            task.setProcessors(Collections.singletonList(new CodecProcessor()));
+            task.call();
+        }
+
+        List<String> errors = new ArrayList<>();
+        for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+            if (diagnostic.getKind() == Diagnostic.Kind.ERROR) {
+                errors.add(diagnostic.getMessage(Locale.ROOT));
+            }
+        }
+        return errors;
+    }
+
+    private static Object field(Object object, String name) throws ReflectiveOperationException {
+        Field field = object.getClass().getDeclaredField(name);
+        field.setAccessible(true);
+        return field.get(object);
+    }
+
+    private static final class Source extends SimpleJavaFileObject {
+        private final String content;
+
+        Source(String name, String content) {
+            super(URI.create("string:///" + name.replace('.', '/') + Kind.SOURCE.extension), Kind.SOURCE);
+            this.content = content;
+        }
+
+        @Override
+        public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+            return content;
+        }
+    }
+
+}
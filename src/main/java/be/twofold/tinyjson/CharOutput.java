@@ -0,0 +1,102 @@
+package be.twofold.tinyjson;
+
+import java.io.*;
+import java.util.*;
+
+final class CharOutput extends JsonOutput {
+    private static final char[] Hex = "0123456789abcdef".toCharArray();
+
+    private final Writer writer;
+    private final char[] buffer = new char[BufferSize];
+    private int count;
+
+    CharOutput(Writer writer) {
+        this.writer = Objects.requireNonNull(writer, "writer");
+    }
+
+    @Override
+    void write(char c) throws IOException {
+        if (count == buffer.length) {
+            flushBuffer();
+        }
+        buffer[count++] = c;
+    }
+
+    @Override
+    void write(String s) throws IOException {
+        write(s, 0, s.length());
+    }
+
+    @Override
+    void write(char[] chars, int offset, int length) throws IOException {
+        if (length > buffer.length - count) {
+            flushBuffer();
+        }
+        System.arraycopy(chars, offset, buffer, count, length);
+        count += length;
+    }
+
+    @Override
+    void string(String value) throws IOException {
+        write('"');
+
+        // copy unescaped runs in bulk
+        int start = 0;
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 128) {
+                String escape = Escapes[c];
+                if (escape != null) {
+                    write(value, start, i);
+                    write(escape);
+                    start = i + 1;
+                }
+            } else if (Character.isSurrogate(c)) {
+                if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    i++;
+                    continue;
+                }
+                // unpaired surrogates are escaped, like Utf8Output has to, so both write the same JSON
+                write(value, start, i);
+                write('\\');
+                write('u');
+                write(Hex[c >> 12]);
+                write(Hex[c >> 8 & 0xf]);
+                write(Hex[c >> 4 & 0xf]);
+                write(Hex[c & 0xf]);
+                start = i + 1;
+            }
+        }
+        write(value, start, length);
+
+        write('"');
+    }
+
+    private void write(String s, int start, int end) throws IOException {
+        int length = end - start;
+        if (length > buffer.length - count) {
+            flushBuffer();
+            if (length > buffer.length) {
+                writer.write(s, start, length);
+                return;
+            }
+        }
+        s.getChars(start, end, buffer, count);
+        count += length;
+    }
+
+    @Override
+    void flushBuffer() throws IOException {
+        if (count > 0) {
+            writer.write(buffer, 0, count);
+            count = 0;
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        flushBuffer();
+        writer.flush();
+    }
+}
@@ -3,6 +3,9 @@ package be.twofold.tinyjson;
 import be.twofold.tinyjson.read.*;
 
 import java.io.*;
+import java.nio.channels.*;
+import java.nio.file.*;
+import java.util.stream.*;
 
 public final class Json {
 
@@ -38,18 +41,89 @@ public final class Json {
         return new JsonArray();
     }
 
+    public static JsonArray array(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("capacity must not be negative");
+        }
+        return new JsonArray(capacity);
+    }
+
+    public static JsonArray arrayOf(long... values) {
+        return new JsonArray(values.clone());
+    }
+
+    public static JsonArray arrayOf(double... values) {
+        return new JsonArray(values.clone());
+    }
+
     public static JsonObject object() {
         return new JsonObject();
     }
 
+    public static JsonObject object(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("capacity must not be negative");
+        }
+        return new JsonObject(capacity);
+    }
+
     // endregion
 
     public static JsonValue parse(Reader reader) {
-        return new JsonParser(reader).parse();
+        return ParserPool.Default.parse(reader);
     }
 
     public static JsonValue parse(String json) {
         return parse(new StringReader(json));
     }
 
+    public static JsonValue parse(InputStream input) {
+        return ParserPool.Default.parse(input);
+    }
+
+    public static JsonValue parse(byte[] bytes) {
+        return parse(bytes, 0, bytes.length);
+    }
+
+    public static JsonValue parse(byte[] bytes, int offset, int length) {
+        return ParserPool.Default.parse(bytes, offset, length);
+    }
+
+    public static JsonValue parse(Path path) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return new JsonParser(channel).parse();
+        } catch (IOException e) {
+            throw new JsonException("Unexpected I/O error", e);
+        }
+    }
+
+    // region Newline-delimited JSON
+
+    // Every value is parsed as it is reached, closing the stream closes the input
+    public static Stream<JsonValue> parseLines(Reader reader) {
+        return new JsonReader(reader).lines(true).values().onClose(() -> close(reader));
+    }
+
+    public static Stream<JsonValue> parseLines(InputStream input) {
+        return new JsonReader(input).lines(true).values().onClose(() -> close(input));
+    }
+
+    public static Stream<JsonValue> parseLines(Path path) {
+        try {
+            return parseLines(Files.newInputStream(path));
+        } catch (IOException e) {
+            throw new JsonException("Unexpected I/O error", e);
+        }
+    }
+
+    private static void close(Closeable closeable) {
+        try {
+            closeable.close();
+        } catch (IOException e) {
+            throw new JsonException("Unexpected I/O error", e);
+        }
+    }
+
+    // endregion
+
 }
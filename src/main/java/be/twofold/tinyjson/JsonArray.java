@@ -10,6 +10,18 @@ public final class JsonArray extends JsonValue implements Iterable<JsonValue> {
         this(new ArrayList<>());
     }
 
+    JsonArray(int capacity) {
+        this(new ArrayList<>(capacity));
+    }
+
+    JsonArray(long[] values) {
+        this(new NumericList(values));
+    }
+
+    JsonArray(double[] values) {
+        this(new NumericList(values));
+    }
+
     private JsonArray(List<JsonValue> values) {
         this.values = values;
     }
@@ -22,7 +34,11 @@ public final class JsonArray extends JsonValue implements Iterable<JsonValue> {
 
     @Override
     public JsonValue copy() {
-        List<JsonValue> values = new ArrayList<>();
+        if (values instanceof NumericList && !((NumericList) values).isInflated()) {
+            return new JsonArray(((NumericList) values).copy());
+        }
+
+        List<JsonValue> values = new ArrayList<>(this.values.size());
         for (JsonValue value : this.values) {
             values.add(value.copy());
         }
@@ -63,6 +79,9 @@ public final class JsonArray extends JsonValue implements Iterable<JsonValue> {
     }
 
     public long getLong(int index) {
+        if (values instanceof NumericList) {
+            return ((NumericList) values).getLong(index);
+        }
         return values.get(index).asLong();
     }
 
@@ -71,6 +90,9 @@ public final class JsonArray extends JsonValue implements Iterable<JsonValue> {
     }
 
     public double getDouble(int index) {
+        if (values instanceof NumericList) {
+            return ((NumericList) values).getDouble(index);
+        }
         return values.get(index).asDouble();
     }
 
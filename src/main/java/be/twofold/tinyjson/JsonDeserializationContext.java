@@ -1,4 +1,18 @@
 package be.twofold.tinyjson;
 
+import be.twofold.tinyjson.read.*;
+
+import java.lang.reflect.*;
+
 public interface JsonDeserializationContext {
+
+    <T> T deserialize(JsonValue value, Class<T> type);
+
+    // For generic types, like the element type of a List<T>
+    <T> T deserialize(JsonValue value, Type type);
+
+    <T> T deserialize(JsonReader reader, Class<T> type);
+
+    <T> T deserialize(JsonReader reader, Type type);
+
 }
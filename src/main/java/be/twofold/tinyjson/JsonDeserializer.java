@@ -1,8 +1,15 @@
 package be.twofold.tinyjson;
 
+import be.twofold.tinyjson.read.*;
+
 @FunctionalInterface
 public interface JsonDeserializer<T> {
 
     T deserialize(JsonValue value, JsonDeserializationContext context);
 
+    // Reads the next value straight from the reader, without a tree in between. By default the tree is still built.
+    default T read(JsonReader reader, JsonDeserializationContext context) {
+        return deserialize(reader.nextValue(), context);
+    }
+
 }
@@ -1,8 +1,19 @@
 package be.twofold.tinyjson;
 
+import java.math.*;
+
 final class JsonNumber extends JsonValue {
 
+    private static final BigDecimal MinLong = BigDecimal.valueOf(Long.MIN_VALUE);
+    private static final BigDecimal MaxLong = BigDecimal.valueOf(Long.MAX_VALUE);
+
+    private static final byte Decimal = 1;
+    private static final byte Integral = 2;
+    private static final byte FitsInLong = 3;
+
     private final Number value;
+    private byte kind;
+    private Object key;
 
     JsonNumber(Number value) {
         this.value = value;
@@ -20,6 +31,16 @@ final class JsonNumber extends JsonValue {
         return value;
     }
 
+    @Override
+    public boolean isIntegral() {
+        return kind() >= Integral;
+    }
+
+    @Override
+    public boolean fitsInLong() {
+        return kind() == FitsInLong;
+    }
+
     @Override
     public byte asByte() {
         return value.byteValue();
@@ -51,15 +72,124 @@ final class JsonNumber extends JsonValue {
     }
 
 
+    // Numbers compare by value, whether they are boxed, parsed or unboxed in an array.
+    // Values that fit in a long compare as longs, values a double stands in for as doubles, and the rest as decimals.
     @Override
     public boolean equals(Object obj) {
-        return this == obj || obj instanceof JsonNumber
-            && value.equals(((JsonNumber) obj).value);
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof JsonNumber)) {
+            return false;
+        }
+        JsonNumber other = (JsonNumber) obj;
+        boolean fitsInLong = fitsInLong();
+        if (fitsInLong != other.fitsInLong()) {
+            return false;
+        }
+        if (fitsInLong) {
+            return value.longValue() == other.value.longValue();
+        }
+        if (isBinary(value) && isBinary(other.value)) {
+            return Double.compare(value.doubleValue(), other.value.doubleValue()) == 0;
+        }
+        return key().equals(other.key());
     }
 
     @Override
     public int hashCode() {
-        return value.hashCode();
+        return fitsInLong()
+            ? Long.hashCode(value.longValue())
+            : key().hashCode();
+    }
+
+    private static boolean isBinary(Number value) {
+        return value instanceof Double || value instanceof Float;
+    }
+
+    // Built once, as it can take a BigDecimal or two
+    private Object key() {
+        if (key == null) {
+            key = key(value);
+        }
+        return key;
+    }
+
+    // The double when its shortest form is exactly this number, so 0.1 parsed and 0.1 as a double are equal,
+    // otherwise the decimal without trailing zeros, so 1e400 and 2e400 or integers beyond 2^53 stay apart
+    private static Object key(Number value) {
+        double d = value.doubleValue();
+        if (isBinary(value)) {
+            return d;
+        }
+        BigDecimal decimal;
+        try {
+            decimal = value instanceof BigDecimal ? (BigDecimal) value
+                : value instanceof BigInteger ? new BigDecimal((BigInteger) value)
+                : new BigDecimal(value.toString());
+        } catch (NumberFormatException e) {
+            // the exponent doesn't fit in an int, so only the text is left
+            return value.toString();
+        }
+        if (Double.isFinite(d) && BigDecimal.valueOf(d).compareTo(decimal) == 0) {
+            return d;
+        }
+        return decimal.stripTrailingZeros();
+    }
+
+    private byte kind() {
+        if (kind == 0) {
+            kind = classify(value);
+        }
+        return kind;
+    }
+
+    private static byte classify(Number value) {
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return FitsInLong;
+        }
+        double d = value.doubleValue();
+        if (value instanceof Double || value instanceof Float) {
+            if (Double.isInfinite(d) || d != Math.rint(d)) {
+                return Decimal;
+            }
+            return d >= -0x1p63 && d < 0x1p63 ? FitsInLong : Integral;
+        }
+
+        // parsed numbers keep their text, which is only looked at closely when it isn't a short integer
+        String text = value.toString();
+        if (isShortInteger(text)) {
+            return FitsInLong;
+        }
+        if (Math.abs(d) < 0x1p53 && d != Math.rint(d)) {
+            // an integer this small would have decoded exactly
+            return Decimal;
+        }
+        BigDecimal decimal;
+        try {
+            decimal = value instanceof BigDecimal ? (BigDecimal) value : new BigDecimal(text);
+        } catch (NumberFormatException e) {
+            // the exponent doesn't fit in an int
+            return Double.isInfinite(d) ? Integral : Decimal;
+        }
+        if (decimal.signum() != 0 && decimal.stripTrailingZeros().scale() > 0) {
+            return Decimal;
+        }
+        return decimal.compareTo(MinLong) >= 0 && decimal.compareTo(MaxLong) <= 0 ? FitsInLong : Integral;
+    }
+
+    private static boolean isShortInteger(String text) {
+        int start = text.startsWith("-") ? 1 : 0;
+        if (text.length() == start || text.length() > 18) {
+            return false;
+        }
+        for (int i = start; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
     }
 
     @Override
@@ -7,7 +7,11 @@ public final class JsonObject extends JsonValue implements Iterable<Map.Entry<St
     private final Map<String, JsonValue> values;
 
     JsonObject() {
-        this(new HashMap<>());
+        this(new ObjectMap());
+    }
+
+    JsonObject(int capacity) {
+        this(new ObjectMap(capacity));
     }
 
     private JsonObject(Map<String, JsonValue> values) {
@@ -23,7 +27,7 @@ public final class JsonObject extends JsonValue implements Iterable<Map.Entry<St
 
     @Override
     public JsonValue copy() {
-        Map<String, JsonValue> values = new LinkedHashMap<>();
+        Map<String, JsonValue> values = new ObjectMap(this.values.size());
         for (Map.Entry<String, JsonValue> entry : this.values.entrySet()) {
             values.put(entry.getKey(), entry.getValue().copy());
         }
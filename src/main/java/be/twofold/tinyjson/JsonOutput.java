@@ -0,0 +1,51 @@
+package be.twofold.tinyjson;
+
+import java.io.*;
+
+abstract class JsonOutput implements Flushable {
+    static final int BufferSize = 8192;
+
+    static final String[] Escapes = new String[128];
+
+    static {
+        for (int i = 0x00; i <= 0x1f; i++) {
+            Escapes[i] = String.format("\\u%04x", i);
+        }
+        Escapes['"'] = "\\\"";
+        Escapes['\\'] = "\\\\";
+        Escapes['\b'] = "\\b";
+        Escapes['\f'] = "\\f";
+        Escapes['\n'] = "\\n";
+        Escapes['\r'] = "\\r";
+        Escapes['\t'] = "\\t";
+    }
+
+    private final char[] scratch = new char[Numbers.MaxLength];
+
+    // Only ever called with ASCII, anything else goes through string
+    abstract void write(char c) throws IOException;
+
+    abstract void write(String s) throws IOException;
+
+    abstract void write(char[] chars, int offset, int length) throws IOException;
+
+    void write(long value) throws IOException {
+        write(scratch, 0, Numbers.writeLong(value, scratch, 0));
+    }
+
+    void write(double value) throws IOException {
+        if (!Double.isFinite(value)) {
+            throw new IllegalStateException("Cannot serialize NaN or Infinity");
+        }
+        if (value > -0x1p63 && value < 0x1p63 && value == (long) value) {
+            write((long) value);
+        } else {
+            write(scratch, 0, Numbers.writeDouble(value, scratch, 0));
+        }
+    }
+
+    abstract void string(String value) throws IOException;
+
+    abstract void flushBuffer() throws IOException;
+
+}
@@ -1,4 +1,12 @@
 package be.twofold.tinyjson;
 
+import java.io.*;
+
 public interface JsonSerializationContext {
+
+    // Serializes by the runtime class of the object, so nested values can be handed back without knowing their type
+    JsonValue serialize(Object object);
+
+    void serialize(Object object, JsonWriter writer) throws IOException;
+
 }
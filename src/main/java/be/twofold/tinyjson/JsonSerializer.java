@@ -1,8 +1,15 @@
 package be.twofold.tinyjson;
 
+import java.io.*;
+
 @FunctionalInterface
 public interface JsonSerializer<T> {
 
     JsonValue serialize(T object, JsonSerializationContext context);
 
+    // Writes straight to the output, without a tree in between. By default the tree is still built.
+    default void write(T object, JsonWriter writer, JsonSerializationContext context) throws IOException {
+        writer.value(serialize(object, context));
+    }
+
 }
@@ -55,6 +55,15 @@ public abstract class JsonValue {
     }
 
 
+    public boolean isIntegral() {
+        throw ex("Number");
+    }
+
+    public boolean fitsInLong() {
+        throw ex("Number");
+    }
+
+
     public byte asByte() {
         throw ex("Number");
     }
@@ -1,32 +1,225 @@
 package be.twofold.tinyjson;
 
 import java.io.*;
+import java.nio.*;
 import java.util.*;
 
-public final class JsonWriter {
+public final class JsonWriter implements Flushable {
 
-    private static final String[] Escapes = new String[128];
+    private final JsonOutput output;
+    private Scope[] stack = new Scope[32];
+    private int depth;
+    private boolean lines;
 
-    static {
-        for (int i = 0x00; i <= 0x1f; i++) {
-            Escapes[i] = String.format("\\u%04x", i);
-        }
-        Escapes['"'] = "\\\"";
-        Escapes['\\'] = "\\\\";
-        Escapes['\b'] = "\\b";
-        Escapes['\f'] = "\\f";
-        Escapes['\n'] = "\\n";
-        Escapes['\r'] = "\\r";
-        Escapes['\t'] = "\\t";
+    public JsonWriter(Writer writer) {
+        this(new CharOutput(writer));
+    }
+
+    public JsonWriter(OutputStream output) {
+        this(new Utf8Output(output));
     }
 
-    private final Writer writer;
+    // Running out of room in the buffer is an IOException, with nothing of the pending output written
+    public JsonWriter(ByteBuffer buffer) {
+        this(new Utf8Output(buffer));
+    }
 
-    public JsonWriter(Writer writer) {
-        this.writer = Objects.requireNonNull(writer, "writer");
+    private JsonWriter(JsonOutput output) {
+        this.output = output;
+        push(Scope.EmptyDocument);
     }
 
+    // Writes newline-delimited JSON: any number of top-level values, each ending in a new line.
+    // Output is then only handed over when the buffer is full or when flushed, instead of after every value.
+    public JsonWriter lines(boolean lines) {
+        this.lines = lines;
+        return this;
+    }
+
+    // Every call writes a document of its own, only the streaming API is held to a single one
     public void write(JsonValue value) throws IOException {
+        if (depth == 1) {
+            stack[0] = Scope.EmptyDocument;
+        }
+        value(value);
+    }
+
+    // Buffered output is handed to the underlying writer when a top-level value is complete, or when flushed
+    @Override
+    public void flush() throws IOException {
+        output.flush();
+    }
+
+    // region Streaming
+
+    public JsonWriter beginObject() throws IOException {
+        beforeValue();
+        push(Scope.EmptyObject);
+        output.write('{');
+        return this;
+    }
+
+    public JsonWriter endObject() throws IOException {
+        Scope scope = stack[depth - 1];
+        if (scope == Scope.DanglingName) {
+            throw new IllegalStateException("Dangling name");
+        }
+        if (scope != Scope.EmptyObject && scope != Scope.NonEmptyObject) {
+            throw new IllegalStateException("Not inside an object");
+        }
+        depth--;
+        output.write('}');
+        afterValue();
+        return this;
+    }
+
+    public JsonWriter beginArray() throws IOException {
+        beforeValue();
+        push(Scope.EmptyArray);
+        output.write('[');
+        return this;
+    }
+
+    public JsonWriter endArray() throws IOException {
+        Scope scope = stack[depth - 1];
+        if (scope != Scope.EmptyArray && scope != Scope.NonEmptyArray) {
+            throw new IllegalStateException("Not inside an array");
+        }
+        depth--;
+        output.write(']');
+        afterValue();
+        return this;
+    }
+
+    public JsonWriter name(String name) throws IOException {
+        Objects.requireNonNull(name, "name");
+        Scope scope = stack[depth - 1];
+        if (scope == Scope.NonEmptyObject) {
+            output.write(',');
+        } else if (scope != Scope.EmptyObject) {
+            throw new IllegalStateException("Names are only allowed inside an object");
+        }
+        stack[depth - 1] = Scope.DanglingName;
+        output.string(name);
+        output.write(':');
+        return this;
+    }
+
+    public JsonWriter nullValue() throws IOException {
+        beforeValue();
+        nul();
+        afterValue();
+        return this;
+    }
+
+    public JsonWriter value(boolean value) throws IOException {
+        beforeValue();
+        bool(value);
+        afterValue();
+        return this;
+    }
+
+    public JsonWriter value(long value) throws IOException {
+        beforeValue();
+        output.write(value);
+        afterValue();
+        return this;
+    }
+
+    // Rejected before anything is written, so the writer can still be used afterwards
+    public JsonWriter value(double value) throws IOException {
+        if (!Double.isFinite(value)) {
+            throw new IllegalStateException("Cannot serialize NaN or Infinity");
+        }
+        beforeValue();
+        output.write(value);
+        afterValue();
+        return this;
+    }
+
+    public JsonWriter value(Number value) throws IOException {
+        if (value == null) {
+            return nullValue();
+        }
+        if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+            return value(value.longValue());
+        }
+        if (value instanceof Double || value instanceof Float) {
+            return value(value.doubleValue());
+        }
+        // parsed and arbitrary precision numbers keep their own text
+        String text = value.toString();
+        if (!Numbers.isJsonNumber(text)) {
+            return value(value.doubleValue());
+        }
+        beforeValue();
+        output.write(text);
+        afterValue();
+        return this;
+    }
+
+    public JsonWriter value(String value) throws IOException {
+        if (value == null) {
+            return nullValue();
+        }
+        beforeValue();
+        output.string(value);
+        afterValue();
+        return this;
+    }
+
+    public JsonWriter value(JsonValue value) throws IOException {
+        checkFinite(value);
+        beforeValue();
+        tree(value);
+        afterValue();
+        return this;
+    }
+
+    private void beforeValue() throws IOException {
+        switch (stack[depth - 1]) {
+            case EmptyDocument:
+                stack[depth - 1] = Scope.NonEmptyDocument;
+                break;
+            case NonEmptyDocument:
+                if (!lines) {
+                    throw new IllegalStateException("Not a single JSON document");
+                }
+                break;
+            case EmptyArray:
+                stack[depth - 1] = Scope.NonEmptyArray;
+                break;
+            case NonEmptyArray:
+                output.write(',');
+                break;
+            case DanglingName:
+                stack[depth - 1] = Scope.NonEmptyObject;
+                break;
+            default:
+                throw new IllegalStateException("Expected a name");
+        }
+    }
+
+    private void afterValue() throws IOException {
+        if (depth == 1) {
+            if (lines) {
+                output.write('\n');
+            } else {
+                output.flushBuffer();
+            }
+        }
+    }
+
+    private void push(Scope scope) {
+        if (depth == stack.length) {
+            stack = Arrays.copyOf(stack, depth * 2);
+        }
+        stack[depth++] = scope;
+    }
+
+    // endregion
+
+    private void tree(JsonValue value) throws IOException {
         if (value == null || value.isNull()) {
             nul();
         } else if (value.isBoolean()) {
@@ -34,7 +227,7 @@ public final class JsonWriter {
         } else if (value.isNumber()) {
             number(value.asNumber());
         } else if (value.isString()) {
-            string(value.asString());
+            output.string(value.asString());
         } else if (value.isArray()) {
             array(value.asArray());
         } else if (value.isObject()) {
@@ -42,82 +235,104 @@ public final class JsonWriter {
         }
     }
 
+    // A whole tree is checked up front, so a number deep inside it can't fail after part of it is written
+    private static void checkFinite(JsonValue value) {
+        if (value == null) {
+            return;
+        }
+        if (value.isNumber()) {
+            Number number = value.asNumber();
+            if (number instanceof Integer || number instanceof Long || number instanceof Short || number instanceof Byte) {
+                return;
+            }
+            // mirrors number(), where only doubles and numbers without a JSON text of their own can fail
+            boolean text = !(number instanceof Double || number instanceof Float) && Numbers.isJsonNumber(number.toString());
+            if (!text && !Double.isFinite(number.doubleValue())) {
+                throw new IllegalStateException("Cannot serialize NaN or Infinity");
+            }
+        } else if (value.isArray()) {
+            for (JsonValue element : value.asArray()) {
+                checkFinite(element);
+            }
+        } else if (value.isObject()) {
+            for (Map.Entry<String, JsonValue> entry : value.asObject()) {
+                checkFinite(entry.getValue());
+            }
+        }
+    }
+
     private void nul() throws IOException {
-        writer.write("null");
+        output.write("null");
     }
 
     private void bool(boolean value) throws IOException {
-        writer.write(value ? "true" : "false");
+        output.write(value ? "true" : "false");
     }
 
     private void number(Number value) throws IOException {
-        long l = value.longValue();
-        double d = value.doubleValue();
-        if (l != d) {
-            if (!Double.isFinite(d)) {
-                throw new IllegalStateException("Cannot serialize NaN or Infinity");
-            }
-            writer.write(Double.toString(d));
+        if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+            output.write(value.longValue());
+        } else if (value instanceof Double || value instanceof Float) {
+            output.write(value.doubleValue());
         } else {
-            writer.write(Long.toString(l));
-        }
-    }
-
-    private void string(String value) throws IOException {
-        writer.write('"');
-
-        for (int i = 0; i < value.length(); i++) {
-            char c = value.charAt(i);
-            if (c < 128) {
-                String escape = Escapes[c];
-                if (escape != null) {
-                    writer.write(escape);
-                    continue;
-                }
+            // parsed and arbitrary precision numbers keep their own text
+            String text = value.toString();
+            if (Numbers.isJsonNumber(text)) {
+                output.write(text);
+            } else {
+                output.write(value.doubleValue());
             }
-            writer.write(c);
         }
-
-        writer.write('"');
     }
 
     private void array(JsonArray array) throws IOException {
         Iterator<JsonValue> it = array.iterator();
         if (!it.hasNext()) {
-            writer.write("[]");
+            output.write("[]");
             return;
         }
 
-        writer.write('[');
+        output.write('[');
         while (true) {
             JsonValue value = it.next();
-            write(value);
+            tree(value);
             if (!it.hasNext()) {
-                writer.write(']');
+                output.write(']');
                 return;
             }
-            writer.write(',');
+            output.write(',');
         }
     }
 
     private void object(JsonObject object) throws IOException {
         Iterator<Map.Entry<String, JsonValue>> it = object.iterator();
         if (!it.hasNext()) {
-            writer.write("{}");
+            output.write("{}");
             return;
         }
 
-        writer.write('{');
+        output.write('{');
         while (true) {
             Map.Entry<String, JsonValue> entry = it.next();
-            string(entry.getKey());
-            writer.write(':');
-            write(entry.getValue());
+            output.string(entry.getKey());
+            output.write(':');
+            tree(entry.getValue());
             if (!it.hasNext()) {
-                writer.write('}');
+                output.write('}');
                 return;
             }
+            output.write(',');
         }
     }
 
+    private enum Scope {
+        EmptyDocument,
+        NonEmptyDocument,
+        EmptyArray,
+        NonEmptyArray,
+        EmptyObject,
+        DanglingName,
+        NonEmptyObject,
+    }
+
 }
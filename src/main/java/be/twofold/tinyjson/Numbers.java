@@ -0,0 +1,277 @@
+package be.twofold.tinyjson;
+
+import java.math.*;
+
+// Formats numbers straight into a char[], doubles use Schubfach to find the shortest decimal that rounds back
+final class Numbers {
+
+    static final int MaxLength = 32;
+
+    private static final int P = 53;
+    private static final int QMin = -1074;
+    private static final long CMin = 1L << (P - 1);
+    private static final long CTiny = 3;
+    private static final int KMin = -324;
+    private static final int KMax = 292;
+    private static final int H = 17;
+    private static final long Mask63 = (1L << 63) - 1;
+
+    // g = floor(10^-k * 2^(125 - flog2pow10(-k))) + 1, split in its upper and lower 63 bits
+    private static final long[] G1 = new long[KMax - KMin + 1];
+    private static final long[] G0 = new long[KMax - KMin + 1];
+
+    static {
+        for (int k = KMin; k <= KMax; k++) {
+            int shift = 125 - flog2pow10(-k);
+            BigInteger g;
+            if (k <= 0) {
+                g = BigInteger.TEN.pow(-k).shiftLeft(shift);
+            } else {
+                g = BigInteger.ONE.shiftLeft(shift).divide(BigInteger.TEN.pow(k));
+            }
+            g = g.add(BigInteger.ONE);
+            G1[k - KMin] = g.shiftRight(63).longValue();
+            G0[k - KMin] = g.longValue() & Mask63;
+        }
+    }
+
+    private Numbers() {
+        throw new UnsupportedOperationException();
+    }
+
+    // region Long
+
+    static int writeLong(long value, char[] out, int pos) {
+        // work with negative values, so Long.MIN_VALUE needs no special case
+        if (value < 0) {
+            out[pos++] = '-';
+        } else {
+            value = -value;
+        }
+
+        int end = pos + 1;
+        for (long p = -10; end - pos < 19 && value <= p; p *= 10) {
+            end++;
+        }
+
+        int i = end;
+        do {
+            long q = value / 10;
+            out[--i] = (char) ('0' + (q * 10 - value));
+            value = q;
+        } while (value != 0);
+        return end;
+    }
+
+    // endregion
+
+    // region Double
+
+    // Writes a finite value in the notation of Double.toString, but always with the shortest digits
+    static int writeDouble(double value, char[] out, int pos) {
+        long bits = Double.doubleToRawLongBits(value);
+        if (bits < 0) {
+            out[pos++] = '-';
+        }
+
+        long t = bits & (CMin - 1);
+        int bq = (int) (bits >>> (P - 1)) & 0x7ff;
+        if (bq != 0) {
+            int mq = -QMin + 1 - bq;
+            long c = CMin | t;
+            if (0 < mq && mq < P) {
+                // integers are their own shortest decimal
+                long f = c >> mq;
+                if (f << mq == c) {
+                    return write(f, 0, out, pos);
+                }
+            }
+            return toDecimal(-mq, c, 0, out, pos);
+        }
+        if (t != 0) {
+            return t < CTiny
+                ? toDecimal(QMin, 10 * t, -1, out, pos)
+                : toDecimal(QMin, t, 0, out, pos);
+        }
+        out[pos++] = '0';
+        out[pos++] = '.';
+        out[pos++] = '0';
+        return pos;
+    }
+
+    private static int toDecimal(int q, long c, int dk, char[] out, int pos) {
+        int odd = (int) c & 1;
+        long cb = c << 2;
+        long cbr = cb + 2;
+        long cbl;
+        int k;
+        if (c != CMin || q == QMin) {
+            cbl = cb - 2;
+            k = flog10pow2(q);
+        } else {
+            cbl = cb - 1;
+            k = flog10threeQuartersPow2(q);
+        }
+        int h = q + flog2pow10(-k) + 2;
+
+        long g1 = G1[k - KMin];
+        long g0 = G0[k - KMin];
+        long vb = rop(g1, g0, cb << h);
+        long vbl = rop(g1, g0, cbl << h);
+        long vbr = rop(g1, g0, cbr << h);
+
+        long s = vb >> 2;
+        if (s >= 100) {
+            // try one digit less first
+            long sp10 = s / 10 * 10;
+            long tp10 = sp10 + 10;
+            boolean upin = vbl + odd <= sp10 << 2;
+            boolean wpin = (tp10 << 2) + odd <= vbr;
+            if (upin != wpin) {
+                return write(upin ? sp10 : tp10, k, out, pos);
+            }
+        }
+
+        long t = s + 1;
+        boolean uin = vbl + odd <= s << 2;
+        boolean win = (t << 2) + odd <= vbr;
+        if (uin != win) {
+            return write(uin ? s : t, k + dk, out, pos);
+        }
+        long cmp = vb - (s + t << 1);
+        return write(cmp < 0 || cmp == 0 && (s & 1) == 0 ? s : t, k + dk, out, pos);
+    }
+
+    // Writes f * 10^e, plain when 10^-3 <= value < 10^7 and in computerized scientific notation otherwise
+    private static int write(long f, int e, char[] out, int pos) {
+        while (f % 10 == 0) {
+            f /= 10;
+            e++;
+        }
+
+        int n = writeLong(f, out, pos) - pos;
+        int x = n + e - 1;
+        if (x >= 0 && x < 7) {
+            if (n <= x + 1) {
+                int end = pos + x + 1;
+                for (int i = pos + n; i < end; i++) {
+                    out[i] = '0';
+                }
+                out[end++] = '.';
+                out[end++] = '0';
+                return end;
+            }
+            int point = pos + x + 1;
+            System.arraycopy(out, point, out, point + 1, pos + n - point);
+            out[point] = '.';
+            return pos + n + 1;
+        }
+        if (x < 0 && x >= -3) {
+            int shift = 1 - x;
+            System.arraycopy(out, pos, out, pos + shift, n);
+            out[pos] = '0';
+            out[pos + 1] = '.';
+            for (int i = pos + 2; i < pos + shift; i++) {
+                out[i] = '0';
+            }
+            return pos + shift + n;
+        }
+
+        int end;
+        if (n == 1) {
+            out[pos + 1] = '.';
+            out[pos + 2] = '0';
+            end = pos + 3;
+        } else {
+            System.arraycopy(out, pos + 1, out, pos + 2, n - 1);
+            out[pos + 1] = '.';
+            end = pos + n + 1;
+        }
+        out[end++] = 'E';
+        return writeLong(x, out, end);
+    }
+
+    // Round to odd of g * cp / 2^127, with g = g1 * 2^63 + g0
+    private static long rop(long g1, long g0, long cp) {
+        long x1 = multiplyHigh(g0, cp);
+        long y0 = g1 * cp;
+        long y1 = multiplyHigh(g1, cp);
+        long z = (y0 >>> 1) + x1;
+        long vbp = y1 + (z >>> 63);
+        return vbp | (z & Mask63) + Mask63 >>> 63;
+    }
+
+    // Math.multiplyHigh is Java 9+
+    private static long multiplyHigh(long x, long y) {
+        long x1 = x >> 32;
+        long x2 = x & 0xffffffffL;
+        long y1 = y >> 32;
+        long y2 = y & 0xffffffffL;
+        long z2 = x2 * y2;
+        long t = x1 * y2 + (z2 >>> 32);
+        long z1 = (t & 0xffffffffL) + x2 * y1;
+        long z0 = t >> 32;
+        return x1 * y1 + z0 + (z1 >> 32);
+    }
+
+    // floor(q * log10(2))
+    static int flog10pow2(int q) {
+        return (int) (q * 661_971_961_083L >> 41);
+    }
+
+    // floor(q * log10(2) + log10(3/4))
+    static int flog10threeQuartersPow2(int q) {
+        return (int) (q * 661_971_961_083L - 274_743_187_321L >> 41);
+    }
+
+    // floor(e * log2(10))
+    static int flog2pow10(int e) {
+        return (int) (e * 913_124_641_741L >> 38);
+    }
+
+    // endregion
+
+    static boolean isJsonNumber(String s) {
+        int length = s.length();
+        int i = 0;
+        if (i < length && s.charAt(i) == '-') {
+            i++;
+        }
+        if (i < length && s.charAt(i) == '0') {
+            i++;
+        } else {
+            int start = i;
+            i = digits(s, i);
+            if (i == start) {
+                return false;
+            }
+        }
+        if (i < length && s.charAt(i) == '.') {
+            int start = ++i;
+            i = digits(s, i);
+            if (i == start) {
+                return false;
+            }
+        }
+        if (i < length && (s.charAt(i) == 'e' || s.charAt(i) == 'E')) {
+            i++;
+            if (i < length && (s.charAt(i) == '+' || s.charAt(i) == '-')) {
+                i++;
+            }
+            int start = i;
+            i = digits(s, i);
+            if (i == start) {
+                return false;
+            }
+        }
+        return i == length;
+    }
+
+    private static int digits(String s, int i) {
+        while (i < s.length() && s.charAt(i) >= '0' && s.charAt(i) <= '9') {
+            i++;
+        }
+        return i;
+    }
+
+}
@@ -0,0 +1,150 @@
+package be.twofold.tinyjson;
+
+import java.util.*;
+
+// Keeps numbers unboxed in a long[] or double[], and turns into a regular list as soon as anything else is stored
+final class NumericList extends AbstractList<JsonValue> implements RandomAccess {
+
+    private long[] longs;
+    private double[] doubles;
+    private List<JsonValue> values;
+    private int size;
+
+    NumericList(long[] longs) {
+        this.longs = longs;
+        this.size = longs.length;
+    }
+
+    NumericList(double[] doubles) {
+        this.doubles = doubles;
+        this.size = doubles.length;
+    }
+
+    @Override
+    public int size() {
+        return values != null ? values.size() : size;
+    }
+
+    @Override
+    public JsonValue get(int index) {
+        if (values != null) {
+            return values.get(index);
+        }
+        checkIndex(index);
+        return longs != null ? Json.number(longs[index]) : Json.number(doubles[index]);
+    }
+
+    long getLong(int index) {
+        if (values != null) {
+            return values.get(index).asLong();
+        }
+        checkIndex(index);
+        return longs != null ? longs[index] : (long) doubles[index];
+    }
+
+    double getDouble(int index) {
+        if (values != null) {
+            return values.get(index).asDouble();
+        }
+        checkIndex(index);
+        return longs != null ? longs[index] : doubles[index];
+    }
+
+    @Override
+    public JsonValue set(int index, JsonValue value) {
+        if (values == null && fits(value)) {
+            JsonValue old = get(index);
+            store(index, value.asNumber());
+            return old;
+        }
+        inflate();
+        return values.set(index, value);
+    }
+
+    @Override
+    public void add(int index, JsonValue value) {
+        if (values == null && index == size && fits(value)) {
+            int capacity = longs != null ? longs.length : doubles.length;
+            if (size == capacity) {
+                grow(Math.max(8, capacity + (capacity >> 1)));
+            }
+            store(size++, value.asNumber());
+            modCount++;
+            return;
+        }
+        inflate();
+        values.add(index, value);
+    }
+
+    @Override
+    public JsonValue remove(int index) {
+        if (values != null) {
+            return values.remove(index);
+        }
+        JsonValue old = get(index);
+        Object array = longs != null ? longs : doubles;
+        System.arraycopy(array, index + 1, array, index, size - index - 1);
+        size--;
+        modCount++;
+        return old;
+    }
+
+    boolean isInflated() {
+        return values != null;
+    }
+
+    // Only valid while not inflated
+    NumericList copy() {
+        return longs != null
+            ? new NumericList(Arrays.copyOf(longs, size))
+            : new NumericList(Arrays.copyOf(doubles, size));
+    }
+
+    private boolean fits(JsonValue value) {
+        if (value == null || !value.isNumber()) {
+            return false;
+        }
+        Number number = value.asNumber();
+        if (longs != null) {
+            return number instanceof Long || number instanceof Integer || number instanceof Short || number instanceof Byte;
+        }
+        return number instanceof Double || number instanceof Float;
+    }
+
+    private void store(int index, Number number) {
+        if (longs != null) {
+            longs[index] = number.longValue();
+        } else {
+            doubles[index] = number.doubleValue();
+        }
+    }
+
+    private void grow(int capacity) {
+        if (longs != null) {
+            longs = Arrays.copyOf(longs, capacity);
+        } else {
+            doubles = Arrays.copyOf(doubles, capacity);
+        }
+    }
+
+    private void inflate() {
+        if (values != null) {
+            return;
+        }
+        List<JsonValue> values = new ArrayList<>(Math.max(size, 10));
+        for (int i = 0; i < size; i++) {
+            values.add(get(i));
+        }
+        this.values = values;
+        this.longs = null;
+        this.doubles = null;
+        modCount++;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+}
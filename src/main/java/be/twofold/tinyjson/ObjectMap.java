@@ -0,0 +1,220 @@
+package be.twofold.tinyjson;
+
+import java.util.*;
+
+// Keeps keys and values in insertion order in two parallel arrays. Small objects are searched linearly,
+// larger ones get an open addressing table that points into the arrays.
+final class ObjectMap extends AbstractMap<String, JsonValue> {
+    private static final int LinearLimit = 8;
+
+    private String[] keys;
+    private JsonValue[] values;
+    private int[] table; // index + 1, or 0 for an empty slot
+    private int size;
+    private int modCount;
+
+    ObjectMap() {
+        this(8);
+    }
+
+    ObjectMap(int capacity) {
+        this.keys = new String[capacity];
+        this.values = new JsonValue[capacity];
+        if (capacity > LinearLimit) {
+            // sized up front, so filling the arrays never rehashes
+            this.table = new int[Integer.highestOneBit(capacity * 4 - 1)];
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return indexOf(key) >= 0;
+    }
+
+    @Override
+    public JsonValue get(Object key) {
+        int index = indexOf(key);
+        return index >= 0 ? values[index] : null;
+    }
+
+    @Override
+    public JsonValue put(String key, JsonValue value) {
+        int index = indexOf(key);
+        if (index >= 0) {
+            JsonValue old = values[index];
+            values[index] = value;
+            return old;
+        }
+
+        if (size == keys.length) {
+            int capacity = Math.max(8, size * 2);
+            keys = Arrays.copyOf(keys, capacity);
+            values = Arrays.copyOf(values, capacity);
+        }
+        keys[size] = key;
+        values[size] = value;
+        size++;
+        modCount++;
+
+        if (table != null && size * 2 <= table.length) {
+            insert(size - 1);
+        } else if (size > LinearLimit) {
+            rehash();
+        }
+        return null;
+    }
+
+    @Override
+    public JsonValue remove(Object key) {
+        int index = indexOf(key);
+        return index >= 0 ? removeAt(index) : null;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(keys, 0, size, null);
+        Arrays.fill(values, 0, size, null);
+        table = null;
+        size = 0;
+        modCount++;
+    }
+
+    @Override
+    public Set<Entry<String, JsonValue>> entrySet() {
+        return new AbstractSet<Entry<String, JsonValue>>() {
+            @Override
+            public Iterator<Entry<String, JsonValue>> iterator() {
+                return new EntryIterator();
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    private int indexOf(Object key) {
+        if (table == null) {
+            for (int i = 0; i < size; i++) {
+                if (Objects.equals(keys[i], key)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        int mask = table.length - 1;
+        for (int slot = hash(key) & mask; ; slot = (slot + 1) & mask) {
+            int index = table[slot] - 1;
+            if (index < 0) {
+                return -1;
+            }
+            if (Objects.equals(keys[index], key)) {
+                return index;
+            }
+        }
+    }
+
+    private JsonValue removeAt(int index) {
+        JsonValue old = values[index];
+        int moved = size - index - 1;
+        System.arraycopy(keys, index + 1, keys, index, moved);
+        System.arraycopy(values, index + 1, values, index, moved);
+        size--;
+        keys[size] = null;
+        values[size] = null;
+        modCount++;
+
+        // the indices after the removed one all shifted, so the table is rebuilt
+        if (table != null) {
+            if (size > LinearLimit) {
+                rehash();
+            } else {
+                table = null;
+            }
+        }
+        return old;
+    }
+
+    private void rehash() {
+        int length = Integer.highestOneBit(size * 4 - 1);
+        table = new int[length];
+        for (int i = 0; i < size; i++) {
+            insert(i);
+        }
+    }
+
+    private void insert(int index) {
+        int mask = table.length - 1;
+        int slot = hash(keys[index]) & mask;
+        while (table[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        table[slot] = index + 1;
+    }
+
+    private static int hash(Object key) {
+        int h = Objects.hashCode(key);
+        return h ^ h >>> 16;
+    }
+
+    private final class EntryIterator implements Iterator<Entry<String, JsonValue>> {
+        private int next;
+        private int last = -1;
+        private int expectedModCount = modCount;
+
+        @Override
+        public boolean hasNext() {
+            return next < size;
+        }
+
+        @Override
+        public Entry<String, JsonValue> next() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (next >= size) {
+                throw new NoSuchElementException();
+            }
+            last = next++;
+            return new ObjectEntry(last);
+        }
+
+        @Override
+        public void remove() {
+            if (last < 0) {
+                throw new IllegalStateException();
+            }
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            removeAt(last);
+            next = last;
+            last = -1;
+            expectedModCount = modCount;
+        }
+    }
+
+    private final class ObjectEntry extends SimpleEntry<String, JsonValue> {
+        private static final long serialVersionUID = 1L;
+
+        private final int index;
+
+        ObjectEntry(int index) {
+            super(keys[index], values[index]);
+            this.index = index;
+        }
+
+        @Override
+        public JsonValue setValue(JsonValue value) {
+            values[index] = value;
+            return super.setValue(value);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package be.twofold.tinyjson;
+
+import java.io.*;
+import java.nio.*;
+import java.nio.charset.*;
+import java.util.*;
+
+final class Utf8Output extends JsonOutput {
+    private static final byte[] Hex = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+    private final OutputStream output;
+    private final ByteBuffer target;
+    private final byte[] buffer = new byte[BufferSize];
+    private int count;
+
+    Utf8Output(OutputStream output) {
+        this.output = Objects.requireNonNull(output, "output");
+        this.target = null;
+    }
+
+    Utf8Output(ByteBuffer target) {
+        this.output = null;
+        this.target = Objects.requireNonNull(target, "target");
+    }
+
+    @Override
+    void write(char c) throws IOException {
+        if (count == buffer.length) {
+            flushBuffer();
+        }
+        buffer[count++] = (byte) c;
+    }
+
+    @Override
+    void write(String s) throws IOException {
+        int length = s.length();
+        if (length > buffer.length - count) {
+            flushBuffer();
+        }
+        for (int i = 0; i < length; i++) {
+            write(s.charAt(i));
+        }
+    }
+
+    @Override
+    void write(char[] chars, int offset, int length) throws IOException {
+        if (length > buffer.length - count) {
+            flushBuffer();
+        }
+        for (int i = 0; i < length; i++) {
+            buffer[count++] = (byte) chars[offset + i];
+        }
+    }
+
+    @Override
+    void string(String value) throws IOException {
+        write('"');
+
+        // encode in chunks that fit the buffer even when every char needs 6 bytes, so the loop needs no checks
+        byte[] buffer = this.buffer;
+        int length = value.length();
+        int i = 0;
+        while (i < length) {
+            int end = Math.min(length, i + (buffer.length - count) / 6);
+            if (i == end) {
+                flushBuffer();
+                continue;
+            }
+
+            int n = count;
+            for (; i < end; i++) {
+                char c = value.charAt(i);
+                if (c < 0x80) {
+                    String escape = Escapes[c];
+                    if (escape == null) {
+                        buffer[n++] = (byte) c;
+                    } else {
+                        for (int j = 0; j < escape.length(); j++) {
+                            buffer[n++] = (byte) escape.charAt(j);
+                        }
+                    }
+                } else if (c < 0x800) {
+                    buffer[n++] = (byte) (0xc0 | c >> 6);
+                    buffer[n++] = (byte) (0x80 | c & 0x3f);
+                } else if (!Character.isSurrogate(c)) {
+                    buffer[n++] = (byte) (0xe0 | c >> 12);
+                    buffer[n++] = (byte) (0x80 | c >> 6 & 0x3f);
+                    buffer[n++] = (byte) (0x80 | c & 0x3f);
+                } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                    buffer[n++] = (byte) (0xf0 | codePoint >> 18);
+                    buffer[n++] = (byte) (0x80 | codePoint >> 12 & 0x3f);
+                    buffer[n++] = (byte) (0x80 | codePoint >> 6 & 0x3f);
+                    buffer[n++] = (byte) (0x80 | codePoint & 0x3f);
+                } else {
+                    // unpaired surrogates can't be encoded, but they can be escaped
+                    buffer[n++] = '\\';
+                    buffer[n++] = 'u';
+                    buffer[n++] = Hex[c >> 12];
+                    buffer[n++] = Hex[c >> 8 & 0xf];
+                    buffer[n++] = Hex[c >> 4 & 0xf];
+                    buffer[n++] = Hex[c & 0xf];
+                }
+            }
+            count = n;
+        }
+
+        write('"');
+    }
+
+    @Override
+    void flushBuffer() throws IOException {
+        if (count > 0) {
+            if (target != null) {
+                if (target.remaining() < count) {
+                    throw new IOException("Buffer overflow, " + count + " bytes to write with " + target.remaining() + " remaining");
+                }
+                target.put(buffer, 0, count);
+            } else {
+                output.write(buffer, 0, count);
+            }
+            count = 0;
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        flushBuffer();
+        if (output != null) {
+            output.flush();
+        }
+    }
+}
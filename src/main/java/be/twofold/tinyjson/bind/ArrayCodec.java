@@ -0,0 +1,107 @@
+package be.twofold.tinyjson.bind;
+
+import be.twofold.tinyjson.*;
+import be.twofold.tinyjson.read.*;
+
+import java.io.*;
+import java.lang.invoke.*;
+import java.lang.reflect.*;
+
+final class ArrayCodec implements Codec {
+    private final JsonBinder binder;
+    private final Class<?> component;
+    private final Type componentType;
+    private final MethodHandle getter;
+    private final MethodHandle setter;
+    private Binding element;
+
+    ArrayCodec(JsonBinder binder, Class<?> type, Type componentType) {
+        this.binder = binder;
+        this.component = type.getComponentType();
+        this.componentType = componentType;
+        this.getter = MethodHandles.arrayElementGetter(type)
+            .asType(MethodType.methodType(Object.class, Object.class, int.class));
+        this.setter = MethodHandles.arrayElementSetter(type)
+            .asType(MethodType.methodType(void.class, Object.class, int.class, Object.class));
+    }
+
+    @Override
+    public JsonValue serialize(Object object, JsonSerializationContext context) {
+        Binding element = element();
+        int length = Array.getLength(object);
+        JsonArray array = Json.array(length);
+        for (int i = 0; i < length; i++) {
+            array.add(element.serialize(get(object, i)));
+        }
+        return array;
+    }
+
+    @Override
+    public Object deserialize(JsonValue value, JsonDeserializationContext context) {
+        Binding element = element();
+        JsonArray array = value.asArray();
+        Object result = Array.newInstance(component, array.size());
+        for (int i = 0; i < array.size(); i++) {
+            set(result, i, element.deserialize(array.get(i)));
+        }
+        return result;
+    }
+
+    @Override
+    public void write(Object object, JsonWriter writer, JsonSerializationContext context) throws IOException {
+        Binding element = element();
+        int length = Array.getLength(object);
+        writer.beginArray();
+        for (int i = 0; i < length; i++) {
+            element.write(get(object, i), writer);
+        }
+        writer.endArray();
+    }
+
+    @Override
+    public Object read(JsonReader reader, JsonDeserializationContext context) {
+        Binding element = element();
+        Object result = Array.newInstance(component, 8);
+        int size = 0;
+        reader.beginArray();
+        while (reader.hasNext()) {
+            if (size == Array.getLength(result)) {
+                result = copyOf(result, size * 2);
+            }
+            set(result, size++, element.read(reader));
+        }
+        reader.endArray();
+        return size == Array.getLength(result) ? result : copyOf(result, size);
+    }
+
+    private Object copyOf(Object array, int length) {
+        Object copy = Array.newInstance(component, length);
+        System.arraycopy(array, 0, copy, 0, Math.min(length, Array.getLength(array)));
+        return copy;
+    }
+
+    private Object get(Object array, int index) {
+        try {
+            return (Object) getter.invokeExact(array, index);
+        } catch (Throwable t) {
+            throw Types.propagate(t);
+        }
+    }
+
+    private void set(Object array, int index, Object value) {
+        try {
+            setter.invokeExact(array, index, value);
+        } catch (Throwable t) {
+            throw Types.propagate(t);
+        }
+    }
+
+    // Looked up on first use, as the component can be the type that is being resolved
+    private Binding element() {
+        Binding element = this.element;
+        if (element == null) {
+            this.element = element = binder.binding(componentType);
+        }
+        return element;
+    }
+}
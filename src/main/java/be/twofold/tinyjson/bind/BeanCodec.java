@@ -0,0 +1,93 @@
+package be.twofold.tinyjson.bind;
+
+import be.twofold.tinyjson.*;
+import be.twofold.tinyjson.read.*;
+
+import java.lang.invoke.*;
+import java.lang.reflect.*;
+import java.util.*;
+
+// Binds the instance fields of a class and its superclasses by name, skipping transient ones.
+// The fields are turned into method handles once, so binding an instance doesn't go through reflection.
+final class BeanCodec extends ObjectCodec {
+    private final MethodHandle constructor;
+
+    BeanCodec(JsonBinder binder, Class<?> type) {
+        super(type, properties(binder, type));
+        this.constructor = Types.constructor(type);
+    }
+
+    private static Property[] properties(JsonBinder binder, Class<?> type) {
+        List<Class<?>> hierarchy = new ArrayList<>();
+        for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+            hierarchy.add(0, c);
+        }
+
+        // superclass fields first, a field hides any with the same name further up
+        Map<String, Property> properties = new LinkedHashMap<>();
+        for (Class<?> c : hierarchy) {
+            for (Field field : c.getDeclaredFields()) {
+                int modifiers = field.getModifiers();
+                if (Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers) || field.isSynthetic()) {
+                    continue;
+                }
+                properties.remove(field.getName());
+                properties.put(field.getName(), property(binder, field));
+            }
+        }
+        return properties.values().toArray(new Property[0]);
+    }
+
+    private static Property property(JsonBinder binder, Field field) {
+        try {
+            field.setAccessible(true);
+            MethodHandle getter = Types.Lookup.unreflectGetter(field);
+            MethodHandle setter = Types.Lookup.unreflectSetter(field);
+            return new Property(binder, field.getName(), field.getGenericType(), getter, setter);
+        } catch (IllegalAccessException | RuntimeException e) {
+            throw new JsonException("Cannot access field " + field, e);
+        }
+    }
+
+    @Override
+    public Object deserialize(JsonValue value, JsonDeserializationContext context) {
+        JsonObject object = value.asObject();
+        Object result = create();
+        // missing fields keep whatever the constructor gave them, unknown keys are ignored
+        for (Property property : properties) {
+            JsonValue field = object.get(property.name);
+            if (field != null) {
+                property.set(result, property.binding().deserialize(field));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    Object readProperties(JsonReader reader) {
+        Object result = create();
+        int next = 0;
+        while (reader.hasNext()) {
+            Property property = property(reader.nextName(), next);
+            if (property == null) {
+                reader.skipValue();
+                continue;
+            }
+            property.read(reader, result);
+            next = property.index + 1;
+        }
+        return result;
+    }
+
+    private Object create() {
+        if (constructor == null) {
+            // interfaces and abstract classes end up here too, as they only serialize through their subclasses
+            throw new JsonException("Cannot create " + type.getName() + " without a no-arg constructor");
+        }
+        try {
+            return (Object) constructor.invokeExact();
+        } catch (Throwable t) {
+            throw Types.propagate(t);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package be.twofold.tinyjson.bind;
+
+import java.lang.annotation.*;
+
+// Marks a class for the tinyjson-processor module, which generates a JsonCodec for it at compile time.
+// The class needs a non-private no-arg constructor, and its bound fields must not be private.
+@Documented
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.TYPE)
+public @interface Bindable {
+}
@@ -0,0 +1,86 @@
+package be.twofold.tinyjson.bind;
+
+import be.twofold.tinyjson.*;
+import be.twofold.tinyjson.read.*;
+
+import java.io.*;
+
+// What the binder caches for every type: its serializer and deserializer, with nulls handled in one place
+final class Binding {
+    private final JsonBinder binder;
+    private final Class<?> type;
+    private final Class<?> boxed;
+    private final boolean tree;
+    private final JsonSerializer<Object> serializer;
+    private final JsonDeserializer<Object> deserializer;
+
+    Binding(JsonBinder binder, Class<?> type, JsonSerializer<Object> serializer, JsonDeserializer<Object> deserializer) {
+        this.binder = binder;
+        this.type = type;
+        this.boxed = Types.box(type);
+        this.tree = type == JsonValue.class;
+        this.serializer = serializer;
+        this.deserializer = deserializer;
+    }
+
+    // For a value of the declared type, which can still hold a subclass
+    JsonValue serialize(Object object) {
+        if (object == null) {
+            return Json.Null;
+        }
+        if (!isExact(object)) {
+            return binder.serialize(object);
+        }
+        return serializer.serialize(object, binder);
+    }
+
+    void write(Object object, JsonWriter writer) throws IOException {
+        if (object == null) {
+            writer.nullValue();
+        } else if (!isExact(object)) {
+            binder.serialize(object, writer);
+        } else {
+            serializer.write(object, writer, binder);
+        }
+    }
+
+    // For a value that is known to be of exactly this type
+    JsonValue serializeExact(Object object) {
+        return serializer.serialize(object, binder);
+    }
+
+    void writeExact(Object object, JsonWriter writer) throws IOException {
+        serializer.write(object, writer, binder);
+    }
+
+    Object deserialize(JsonValue value) {
+        if (value == null || value.isNull() && !tree) {
+            checkNullable();
+            return null;
+        }
+        return deserializer.deserialize(value, binder);
+    }
+
+    Object read(JsonReader reader) {
+        if (!tree && reader.peek() == JsonTokenType.Null) {
+            checkNullable();
+            reader.nextNull();
+            return null;
+        }
+        return deserializer.read(reader, binder);
+    }
+
+    JsonDeserializer<Object> deserializer() {
+        return deserializer;
+    }
+
+    void checkNullable() {
+        if (type.isPrimitive()) {
+            throw new JsonException("Cannot bind null to " + type.getName());
+        }
+    }
+
+    private boolean isExact(Object object) {
+        return object.getClass() == boxed || boxed.isEnum() && boxed.isInstance(object);
+    }
+}
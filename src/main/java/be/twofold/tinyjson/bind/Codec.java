@@ -0,0 +1,18 @@
+package be.twofold.tinyjson.bind;
+
+import be.twofold.tinyjson.*;
+import be.twofold.tinyjson.read.*;
+
+import java.io.*;
+
+// The built-in codecs handle both directions, the binder picks each one separately so they can be overridden.
+// They all stream as well, instead of falling back to a tree.
+interface Codec extends JsonSerializer<Object>, JsonDeserializer<Object> {
+
+    @Override
+    void write(Object object, JsonWriter writer, JsonSerializationContext context) throws IOException;
+
+    @Override
+    Object read(JsonReader reader, JsonDeserializationContext context);
+
+}
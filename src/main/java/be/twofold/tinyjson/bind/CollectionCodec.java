@@ -0,0 +1,108 @@
+package be.twofold.tinyjson.bind;
+
+import be.twofold.tinyjson.*;
+import be.twofold.tinyjson.read.*;
+
+import java.io.*;
+import java.lang.invoke.*;
+import java.lang.reflect.*;
+import java.util.*;
+
+final class CollectionCodec implements Codec {
+    private final JsonBinder binder;
+    private final Class<?> type;
+    private final Type elementType;
+    private final MethodHandle constructor;
+    private Binding element;
+
+    CollectionCodec(JsonBinder binder, Class<?> type, Type elementType) {
+        this.binder = binder;
+        this.type = type;
+        this.elementType = elementType;
+        this.constructor = Types.constructor(implementation(type));
+    }
+
+    // Interfaces get the usual implementation, everything else needs a no-arg constructor
+    private static Class<?> implementation(Class<?> type) {
+        if (!type.isInterface() && !Modifier.isAbstract(type.getModifiers())) {
+            return type;
+        }
+        if (type.isAssignableFrom(ArrayList.class)) {
+            return ArrayList.class;
+        }
+        if (type.isAssignableFrom(LinkedHashSet.class)) {
+            return LinkedHashSet.class;
+        }
+        if (type.isAssignableFrom(TreeSet.class)) {
+            return TreeSet.class;
+        }
+        if (type.isAssignableFrom(ArrayDeque.class)) {
+            return ArrayDeque.class;
+        }
+        return type;
+    }
+
+    @Override
+    public JsonValue serialize(Object object, JsonSerializationContext context) {
+        Binding element = element();
+        Collection<?> collection = (Collection<?>) object;
+        JsonArray array = Json.array(collection.size());
+        for (Object e : collection) {
+            array.add(element.serialize(e));
+        }
+        return array;
+    }
+
+    @Override
+    public Object deserialize(JsonValue value, JsonDeserializationContext context) {
+        Binding element = element();
+        JsonArray array = value.asArray();
+        Collection<Object> collection = create();
+        for (int i = 0; i < array.size(); i++) {
+            collection.add(element.deserialize(array.get(i)));
+        }
+        return collection;
+    }
+
+    @Override
+    public void write(Object object, JsonWriter writer, JsonSerializationContext context) throws IOException {
+        Binding element = element();
+        writer.beginArray();
+        for (Object e : (Collection<?>) object) {
+            element.write(e, writer);
+        }
+        writer.endArray();
+    }
+
+    @Override
+    public Object read(JsonReader reader, JsonDeserializationContext context) {
+        Binding element = element();
+        Collection<Object> collection = create();
+        reader.beginArray();
+        while (reader.hasNext()) {
+            collection.add(element.read(reader));
+        }
+        reader.endArray();
+        return collection;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Collection<Object> create() {
+        if (constructor == null) {
+            throw new JsonException("Cannot create " + type.getName() + " without a no-arg constructor");
+        }
+        try {
+            return (Collection<Object>) (Object) constructor.invokeExact();
+        } catch (Throwable t) {
+            throw Types.propagate(t);
+        }
+    }
+
+    private Binding element() {
+        Binding element = this.element;
+        if (element == null) {
+            this.element = element = binder.binding(elementType);
+        }
+        return element;
+    }
+}
@@ -0,0 +1,17 @@
+package be.twofold.tinyjson.bind;
+
+import java.lang.annotation.*;
+
+// Binds a class hierarchy through the property naming the subtype of each object.
+// Sealed classes and interfaces are bound like this without it, it only needs to be there to pick another property,
+// or to list the subtypes of a hierarchy that isn't sealed.
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface Discriminator {
+
+    String value() default "type";
+
+    Class<?>[] subtypes() default {};
+
+}
@@ -0,0 +1,13 @@
+package be.twofold.tinyjson.bind;
+
+import java.lang.annotation.*;
+
+// The name of a subtype in its discriminator property, instead of its simple name
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface DiscriminatorValue {
+
+    String value();
+
+}
@@ -0,0 +1,47 @@
+package be.twofold.tinyjson.bind;
+
+import be.twofold.tinyjson.*;
+import be.twofold.tinyjson.read.*;
+
+import java.io.*;
+import java.util.*;
+
+final class EnumCodec implements Codec {
+    private final Class<?> type;
+    private final Map<String, Object> constants = new HashMap<>();
+
+    EnumCodec(Class<?> type) {
+        this.type = type;
+        for (Object constant : type.getEnumConstants()) {
+            constants.put(((Enum<?>) constant).name(), constant);
+        }
+    }
+
+    @Override
+    public JsonValue serialize(Object object, JsonSerializationContext context) {
+        return Json.string(((Enum<?>) object).name());
+    }
+
+    @Override
+    public Object deserialize(JsonValue value, JsonDeserializationContext context) {
+        return constant(value.asString());
+    }
+
+    @Override
+    public void write(Object object, JsonWriter writer, JsonSerializationContext context) throws IOException {
+        writer.value(((Enum<?>) object).name());
+    }
+
+    @Override
+    public Object read(JsonReader reader, JsonDeserializationContext context) {
+        return constant(reader.nextString());
+    }
+
+    private Object constant(String name) {
+        Object constant = constants.get(name);
+        if (constant == null) {
+            throw new JsonException("Unknown constant " + name + " of " + type.getName());
+        }
+        return constant;
+    }
+}
@@ -0,0 +1,73 @@
+package be.twofold.tinyjson.bind;
+
+import java.lang.reflect.*;
+import java.util.*;
+
+// A parameterized type built by hand, for code that can't get one from reflection, like generated codecs.
+// It equals the JDK's own implementation, so both find the same cached binding.
+public final class GenericType implements ParameterizedType {
+    private final Class<?> rawType;
+    private final Type[] arguments;
+
+    private GenericType(Class<?> rawType, Type[] arguments) {
+        this.rawType = rawType;
+        this.arguments = arguments;
+    }
+
+    public static ParameterizedType of(Class<?> rawType, Type... arguments) {
+        Objects.requireNonNull(rawType, "rawType");
+        if (arguments.length != rawType.getTypeParameters().length) {
+            throw new IllegalArgumentException(rawType.getName() + " takes " + rawType.getTypeParameters().length + " type arguments");
+        }
+        for (Type argument : arguments) {
+            Objects.requireNonNull(argument, "argument");
+        }
+        return new GenericType(rawType, arguments.clone());
+    }
+
+    @Override
+    public Type[] getActualTypeArguments() {
+        return arguments.clone();
+    }
+
+    @Override
+    public Type getRawType() {
+        return rawType;
+    }
+
+    @Override
+    public Type getOwnerType() {
+        return rawType.getDeclaringClass();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof ParameterizedType)) {
+            return false;
+        }
+        ParameterizedType other = (ParameterizedType) obj;
+        return rawType.equals(other.getRawType())
+            && Objects.equals(getOwnerType(), other.getOwnerType())
+            && Arrays.equals(arguments, other.getActualTypeArguments());
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(arguments) ^ Objects.hashCode(getOwnerType()) ^ rawType.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder(rawType.getName()).append('<');
+        for (int i = 0; i < arguments.length; i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            builder.append(arguments[i].getTypeName());
+        }
+        return builder.append('>').toString();
+    }
+}
@@ -0,0 +1,196 @@
+package be.twofold.tinyjson.bind;
+
+import be.twofold.tinyjson.*;
+import be.twofold.tinyjson.read.*;
+
+import java.io.*;
+import java.lang.reflect.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+// Maps between Java objects and JSON, either through a tree or streaming straight from a JsonReader and to a JsonWriter.
+// The serializer and deserializer for a type are resolved the first time it is seen, and cached from then on.
+// A binder is immutable apart from that cache, so it can be shared.
+public final class JsonBinder implements JsonSerializationContext, JsonDeserializationContext {
+    public static final JsonBinder Default = new JsonBinder();
+
+    private final Map<Class<?>, JsonSerializer<?>> serializers;
+    private final Map<Class<?>, JsonDeserializer<?>> deserializers;
+    private final ConcurrentMap<Type, Binding> bindings = new ConcurrentHashMap<>();
+
+    public JsonBinder() {
+        this(loader());
+    }
+
+    // Starts out with every JsonCodec the ServiceLoader finds, like the ones generated for @Bindable classes
+    public JsonBinder(ClassLoader loader) {
+        this(new HashMap<>(), new HashMap<>());
+        for (JsonCodec<?> codec : ServiceLoader.load(JsonCodec.class, loader)) {
+            serializers.put(codec.type(), codec);
+            deserializers.put(codec.type(), codec);
+        }
+    }
+
+    private JsonBinder(Map<Class<?>, JsonSerializer<?>> serializers, Map<Class<?>, JsonDeserializer<?>> deserializers) {
+        this.serializers = serializers;
+        this.deserializers = deserializers;
+    }
+
+    // Only used for values of exactly this class, not for its subclasses
+    public <T> JsonBinder withSerializer(Class<T> type, JsonSerializer<? super T> serializer) {
+        Objects.requireNonNull(type, "type");
+        Objects.requireNonNull(serializer, "serializer");
+        Map<Class<?>, JsonSerializer<?>> serializers = new HashMap<>(this.serializers);
+        serializers.put(type, serializer);
+        return new JsonBinder(serializers, deserializers);
+    }
+
+    public <T> JsonBinder withDeserializer(Class<T> type, JsonDeserializer<? extends T> deserializer) {
+        Objects.requireNonNull(type, "type");
+        Objects.requireNonNull(deserializer, "deserializer");
+        Map<Class<?>, JsonDeserializer<?>> deserializers = new HashMap<>(this.deserializers);
+        deserializers.put(type, deserializer);
+        return new JsonBinder(serializers, deserializers);
+    }
+
+    public <T> JsonBinder withCodec(JsonCodec<T> codec) {
+        Objects.requireNonNull(codec, "codec");
+        return withSerializer(codec.type(), codec).withDeserializer(codec.type(), codec);
+    }
+
+    // region Tree
+
+    @Override
+    public JsonValue serialize(Object object) {
+        if (object == null) {
+            return Json.Null;
+        }
+        return binding(runtimeType(object)).serializeExact(object);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T deserialize(JsonValue value, Class<T> type) {
+        Objects.requireNonNull(type, "type");
+        return (T) binding(type).deserialize(value);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T deserialize(JsonValue value, Type type) {
+        Objects.requireNonNull(type, "type");
+        return (T) binding(type).deserialize(value);
+    }
+
+    // endregion
+
+    // region Streaming
+
+    @Override
+    public void serialize(Object object, JsonWriter writer) throws IOException {
+        Objects.requireNonNull(writer, "writer");
+        if (object == null) {
+            writer.nullValue();
+            return;
+        }
+        binding(runtimeType(object)).writeExact(object, writer);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T deserialize(JsonReader reader, Class<T> type) {
+        Objects.requireNonNull(reader, "reader");
+        Objects.requireNonNull(type, "type");
+        return (T) binding(type).read(reader);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T deserialize(JsonReader reader, Type type) {
+        Objects.requireNonNull(reader, "reader");
+        Objects.requireNonNull(type, "type");
+        return (T) binding(type).read(reader);
+    }
+
+    // endregion
+
+    private static ClassLoader loader() {
+        ClassLoader loader = Thread.currentThread().getContextClassLoader();
+        return loader != null ? loader : JsonBinder.class.getClassLoader();
+    }
+
+    // Constants with a body are subclasses of their enum
+    private static Class<?> runtimeType(Object object) {
+        return object instanceof Enum<?> ? ((Enum<?>) object).getDeclaringClass() : object.getClass();
+    }
+
+    Binding binding(Type type) {
+        Binding binding = bindings.get(type);
+        if (binding == null) {
+            // not computeIfAbsent, as resolving one type can resolve others
+            binding = create(type);
+            Binding existing = bindings.putIfAbsent(type, binding);
+            if (existing != null) {
+                binding = existing;
+            }
+        }
+        return binding;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Binding create(Type type) {
+        Class<?> raw = Types.raw(type);
+        JsonSerializer<Object> serializer = (JsonSerializer<Object>) serializers.get(raw);
+        JsonDeserializer<Object> deserializer = (JsonDeserializer<Object>) deserializers.get(raw);
+        boolean registered = serializer != null || deserializer != null;
+        if (serializer == null || deserializer == null) {
+            Codec codec = codec(type, raw);
+            if (serializer == null) {
+                serializer = codec;
+            }
+            if (deserializer == null) {
+                deserializer = codec;
+            }
+        }
+        if (registered && Subtypes.isSubtype(raw)) {
+            // only the built-in codecs write the discriminator of a subtype themselves
+            SubtypeCodec codec = new SubtypeCodec(raw, serializer, deserializer);
+            if (!(serializer instanceof Codec)) {
+                serializer = codec;
+            }
+            if (!(deserializer instanceof Codec)) {
+                deserializer = codec;
+            }
+        }
+        return new Binding(this, raw, serializer, deserializer);
+    }
+
+    private Codec codec(Type type, Class<?> raw) {
+        Codec codec = ScalarCodecs.get(raw);
+        if (codec != null) {
+            return codec;
+        }
+        if (JsonValue.class.isAssignableFrom(raw)) {
+            return new TreeCodec(raw);
+        }
+        if (raw.isArray()) {
+            return new ArrayCodec(this, raw, Types.component(type));
+        }
+        if (raw.isEnum()) {
+            return new EnumCodec(raw);
+        }
+        if (Collection.class.isAssignableFrom(raw)) {
+            return new CollectionCodec(this, raw, Types.argument(type, 0));
+        }
+        if (Map.class.isAssignableFrom(raw)) {
+            return new MapCodec(this, raw, Types.argument(type, 0), Types.argument(type, 1));
+        }
+        if (raw == Object.class) {
+            return UntypedCodec.Instance;
+        }
+        if (Subtypes.isPolymorphic(raw)) {
+            return new PolymorphicCodec(this, raw);
+        }
+        return ObjectCodec.of(this, raw);
+    }
+}
@@ -0,0 +1,11 @@
+package be.twofold.tinyjson.bind;
+
+import be.twofold.tinyjson.*;
+
+// A serializer and deserializer for one class, picked up by every JsonBinder through the ServiceLoader.
+// The annotation processor generates these for @Bindable classes, but they can be written by hand as well.
+public interface JsonCodec<T> extends JsonSerializer<T>, JsonDeserializer<T> {
+
+    Class<T> type();
+
+}
@@ -0,0 +1,133 @@
+package be.twofold.tinyjson.bind;
+
+import be.twofold.tinyjson.*;
+import be.twofold.tinyjson.read.*;
+
+import java.io.*;
+import java.lang.invoke.*;
+import java.lang.reflect.*;
+import java.util.*;
+
+// Keys are written with toString(), and read back into strings, enum constants, or integers
+final class MapCodec implements Codec {
+    private final JsonBinder binder;
+    private final Class<?> type;
+    private final Class<?> keyType;
+    private final Type valueType;
+    private final MethodHandle constructor;
+    private Binding value;
+
+    MapCodec(JsonBinder binder, Class<?> type, Type keyType, Type valueType) {
+        this.binder = binder;
+        this.type = type;
+        this.keyType = Types.raw(keyType);
+        this.valueType = valueType;
+        this.constructor = Types.constructor(implementation(type));
+    }
+
+    private static Class<?> implementation(Class<?> type) {
+        if (!type.isInterface() && !Modifier.isAbstract(type.getModifiers())) {
+            return type;
+        }
+        if (type.isAssignableFrom(LinkedHashMap.class)) {
+            return LinkedHashMap.class;
+        }
+        if (type.isAssignableFrom(TreeMap.class)) {
+            return TreeMap.class;
+        }
+        return type;
+    }
+
+    @Override
+    public JsonValue serialize(Object object, JsonSerializationContext context) {
+        Binding value = value();
+        Map<?, ?> map = (Map<?, ?>) object;
+        JsonObject result = Json.object(map.size());
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            result.add(name(entry.getKey()), value.serialize(entry.getValue()));
+        }
+        return result;
+    }
+
+    @Override
+    public Object deserialize(JsonValue json, JsonDeserializationContext context) {
+        Binding value = value();
+        Map<Object, Object> map = create();
+        for (Map.Entry<String, JsonValue> entry : json.asObject()) {
+            map.put(key(entry.getKey()), value.deserialize(entry.getValue()));
+        }
+        return map;
+    }
+
+    @Override
+    public void write(Object object, JsonWriter writer, JsonSerializationContext context) throws IOException {
+        Binding value = value();
+        writer.beginObject();
+        for (Map.Entry<?, ?> entry : ((Map<?, ?>) object).entrySet()) {
+            writer.name(name(entry.getKey()));
+            value.write(entry.getValue(), writer);
+        }
+        writer.endObject();
+    }
+
+    @Override
+    public Object read(JsonReader reader, JsonDeserializationContext context) {
+        Binding value = value();
+        Map<Object, Object> map = create();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            Object key = key(reader.nextName());
+            map.put(key, value.read(reader));
+        }
+        reader.endObject();
+        return map;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<Object, Object> create() {
+        if (constructor == null) {
+            throw new JsonException("Cannot create " + type.getName() + " without a no-arg constructor");
+        }
+        try {
+            return (Map<Object, Object>) (Object) constructor.invokeExact();
+        } catch (Throwable t) {
+            throw Types.propagate(t);
+        }
+    }
+
+    private static String name(Object key) {
+        if (key == null) {
+            throw new JsonException("Cannot serialize a null map key");
+        }
+        return key instanceof Enum<?> ? ((Enum<?>) key).name() : key.toString();
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Object key(String name) {
+        if (keyType == String.class || keyType == Object.class || keyType == CharSequence.class) {
+            return name;
+        }
+        try {
+            if (keyType.isEnum()) {
+                return Enum.valueOf((Class<? extends Enum>) keyType, name);
+            }
+            if (keyType == Integer.class) {
+                return Integer.valueOf(name);
+            }
+            if (keyType == Long.class) {
+                return Long.valueOf(name);
+            }
+        } catch (IllegalArgumentException e) {
+            throw new JsonException("Cannot bind key \"" + name + "\" to " + keyType.getName(), e);
+        }
+        throw new JsonException("Unsupported map key type " + keyType.getName());
+    }
+
+    private Binding value() {
+        Binding value = this.value;
+        if (value == null) {
+            this.value = value = binder.binding(valueType);
+        }
+        return value;
+    }
+}
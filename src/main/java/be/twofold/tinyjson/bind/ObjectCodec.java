@@ -0,0 +1,85 @@
+package be.twofold.tinyjson.bind;
+
+import be.twofold.tinyjson.*;
+import be.twofold.tinyjson.read.*;
+
+import java.io.*;
+import java.util.*;
+
+// Binds an object as its properties by name. Subclasses decide where the properties come from and how the
+// object is created. A subtype in a polymorphic hierarchy writes its discriminator before anything else.
+abstract class ObjectCodec implements Codec {
+    final Class<?> type;
+    final Property[] properties;
+    private final Map<String, Property> byName = new HashMap<>();
+    private final String discriminator;
+    private final String typeName;
+
+    ObjectCodec(Class<?> type, Property[] properties) {
+        this.type = type;
+        this.properties = properties;
+        for (int i = 0; i < properties.length; i++) {
+            properties[i].index = i;
+            byName.put(properties[i].name, properties[i]);
+        }
+
+        if (Subtypes.isSubtype(type)) {
+            this.discriminator = Subtypes.property(type);
+            this.typeName = Subtypes.name(type);
+            if (byName.containsKey(discriminator)) {
+                throw new JsonException("Property " + discriminator + " of " + type.getName() + " clashes with its discriminator");
+            }
+        } else {
+            this.discriminator = null;
+            this.typeName = null;
+        }
+    }
+
+    static ObjectCodec of(JsonBinder binder, Class<?> type) {
+        return Types.isRecord(type) ? new RecordCodec(binder, type) : new BeanCodec(binder, type);
+    }
+
+    // Reads the properties up to the end of the object, which the caller has opened, and will close
+    abstract Object readProperties(JsonReader reader);
+
+    @Override
+    public JsonValue serialize(Object object, JsonSerializationContext context) {
+        JsonObject result = Json.object(properties.length + 1);
+        if (discriminator != null) {
+            result.add(discriminator, typeName);
+        }
+        for (Property property : properties) {
+            result.add(property.name, property.binding().serialize(property.get(object)));
+        }
+        return result;
+    }
+
+    @Override
+    public void write(Object object, JsonWriter writer, JsonSerializationContext context) throws IOException {
+        writer.beginObject();
+        if (discriminator != null) {
+            writer.name(discriminator).value(typeName);
+        }
+        for (Property property : properties) {
+            writer.name(property.name);
+            property.write(object, writer);
+        }
+        writer.endObject();
+    }
+
+    @Override
+    public Object read(JsonReader reader, JsonDeserializationContext context) {
+        reader.beginObject();
+        Object result = readProperties(reader);
+        reader.endObject();
+        return result;
+    }
+
+    // Properties mostly come in the order they were written, so the one after the previous is tried before the map
+    final Property property(String name, int next) {
+        if (next < properties.length && properties[next].name.equals(name)) {
+            return properties[next];
+        }
+        return byName.get(name);
+    }
+}
@@ -0,0 +1,84 @@
+package be.twofold.tinyjson.bind;
+
+import be.twofold.tinyjson.*;
+import be.twofold.tinyjson.read.*;
+
+import java.io.*;
+import java.util.*;
+
+// Binds the base of a polymorphic hierarchy by reading its discriminator, and handing the object to that subtype.
+// Subtypes write their discriminator themselves, so this only serializes instances of the base itself.
+final class PolymorphicCodec implements Codec {
+    private final JsonBinder binder;
+    private final Class<?> type;
+    private final String discriminator;
+    private final Map<String, Class<?>> subtypes;
+    private final ObjectCodec self;
+
+    PolymorphicCodec(JsonBinder binder, Class<?> type) {
+        this.binder = binder;
+        this.type = type;
+        this.discriminator = Subtypes.property(type);
+        this.subtypes = Subtypes.of(type);
+        // a concrete base is one of its own subtypes, but its binding is this codec
+        this.self = subtypes.containsValue(type) ? ObjectCodec.of(binder, type) : null;
+    }
+
+    @Override
+    public JsonValue serialize(Object object, JsonSerializationContext context) {
+        return self.serialize(object, context);
+    }
+
+    @Override
+    public void write(Object object, JsonWriter writer, JsonSerializationContext context) throws IOException {
+        self.write(object, writer, context);
+    }
+
+    @Override
+    public Object deserialize(JsonValue value, JsonDeserializationContext context) {
+        JsonObject object = value.asObject();
+        JsonValue name = object.get(discriminator);
+        if (name == null) {
+            throw new JsonException("Missing " + discriminator + " for " + type.getName());
+        }
+        // the subtype skips the discriminator, like any other unknown property
+        return deserializer(name.asString()).deserialize(object, binder);
+    }
+
+    @Override
+    public Object read(JsonReader reader, JsonDeserializationContext context) {
+        reader.beginObject();
+        JsonObject buffer = Json.object();
+        if (reader.hasNext()) {
+            // the discriminator is written first, so the rest usually streams straight into the subtype
+            String name = reader.nextName();
+            if (name.equals(discriminator) && reader.peek() == JsonTokenType.String) {
+                String subtype = reader.nextString();
+                JsonDeserializer<Object> deserializer = deserializer(subtype);
+                if (deserializer instanceof ObjectCodec) {
+                    Object result = ((ObjectCodec) deserializer).readProperties(reader);
+                    reader.endObject();
+                    return result;
+                }
+                buffer.add(name, subtype);
+            } else {
+                buffer.add(name, reader.nextValue());
+            }
+        }
+
+        // otherwise the object is buffered until the discriminator is known
+        while (reader.hasNext()) {
+            buffer.add(reader.nextName(), reader.nextValue());
+        }
+        reader.endObject();
+        return deserialize(buffer, context);
+    }
+
+    private JsonDeserializer<Object> deserializer(String name) {
+        Class<?> subtype = subtypes.get(name);
+        if (subtype == null) {
+            throw new JsonException("Unknown " + discriminator + " " + name + " for " + type.getName());
+        }
+        return subtype == type ? self : binder.binding(subtype).deserializer();
+    }
+}
@@ -0,0 +1,160 @@
+package be.twofold.tinyjson.bind;
+
+import be.twofold.tinyjson.*;
+import be.twofold.tinyjson.read.*;
+
+import java.io.*;
+import java.lang.invoke.*;
+import java.lang.reflect.*;
+
+// A named value of an object, read through a getter and written through a setter, if it has one.
+// The common primitives are streamed through handles of their own type, so they're never boxed.
+final class Property {
+    private final JsonBinder binder;
+    final String name;
+    private final Type type;
+    private final Class<?> primitive;
+    private final MethodHandle getter;
+    private final MethodHandle setter;
+    private final MethodHandle exactGetter;
+    private final MethodHandle exactSetter;
+    private Binding binding;
+    int index;
+
+    Property(JsonBinder binder, String name, Type type, MethodHandle getter, MethodHandle setter) {
+        this.binder = binder;
+        this.name = name;
+        this.type = type;
+        Class<?> raw = getter.type().returnType();
+        boolean fast = raw == int.class || raw == long.class || raw == double.class || raw == boolean.class;
+        this.primitive = fast ? raw : null;
+        this.getter = getter.asType(MethodType.methodType(Object.class, Object.class));
+        this.exactGetter = getter.asType(MethodType.methodType(raw, Object.class));
+        this.setter = setter != null ? setter.asType(MethodType.methodType(void.class, Object.class, Object.class)) : null;
+        this.exactSetter = setter != null ? setter.asType(MethodType.methodType(void.class, Object.class, raw)) : null;
+    }
+
+    void write(Object object, JsonWriter writer) throws IOException {
+        if (primitive == int.class) {
+            writer.value(getInt(object));
+        } else if (primitive == long.class) {
+            writer.value(getLong(object));
+        } else if (primitive == double.class) {
+            writer.value(getDouble(object));
+        } else if (primitive == boolean.class) {
+            writer.value(getBoolean(object));
+        } else {
+            binding().write(get(object), writer);
+        }
+    }
+
+    void read(JsonReader reader, Object object) {
+        // a null still goes through the binding, which rejects it for primitives
+        if (primitive != null && reader.peek() != JsonTokenType.Null) {
+            if (primitive == int.class) {
+                set(object, reader.nextInt());
+            } else if (primitive == long.class) {
+                set(object, reader.nextLong());
+            } else if (primitive == double.class) {
+                set(object, reader.nextDouble());
+            } else {
+                set(object, reader.nextBoolean());
+            }
+            return;
+        }
+        set(object, binding().read(reader));
+    }
+
+    Object get(Object object) {
+        try {
+            return (Object) getter.invokeExact(object);
+        } catch (Throwable t) {
+            throw Types.propagate(t);
+        }
+    }
+
+    void set(Object object, Object value) {
+        try {
+            setter.invokeExact(object, value);
+        } catch (Throwable t) {
+            throw Types.propagate(t);
+        }
+    }
+
+    // region Primitives
+
+    private int getInt(Object object) {
+        try {
+            return (int) exactGetter.invokeExact(object);
+        } catch (Throwable t) {
+            throw Types.propagate(t);
+        }
+    }
+
+    private long getLong(Object object) {
+        try {
+            return (long) exactGetter.invokeExact(object);
+        } catch (Throwable t) {
+            throw Types.propagate(t);
+        }
+    }
+
+    private double getDouble(Object object) {
+        try {
+            return (double) exactGetter.invokeExact(object);
+        } catch (Throwable t) {
+            throw Types.propagate(t);
+        }
+    }
+
+    private boolean getBoolean(Object object) {
+        try {
+            return (boolean) exactGetter.invokeExact(object);
+        } catch (Throwable t) {
+            throw Types.propagate(t);
+        }
+    }
+
+    private void set(Object object, int value) {
+        try {
+            exactSetter.invokeExact(object, value);
+        } catch (Throwable t) {
+            throw Types.propagate(t);
+        }
+    }
+
+    private void set(Object object, long value) {
+        try {
+            exactSetter.invokeExact(object, value);
+        } catch (Throwable t) {
+            throw Types.propagate(t);
+        }
+    }
+
+    private void set(Object object, double value) {
+        try {
+            exactSetter.invokeExact(object, value);
+        } catch (Throwable t) {
+            throw Types.propagate(t);
+        }
+    }
+
+    private void set(Object object, boolean value) {
+        try {
+            exactSetter.invokeExact(object, value);
+        } catch (Throwable t) {
+            throw Types.propagate(t);
+        }
+    }
+
+    // endregion
+
+    // Looked up on first use, so a class can have properties of its own type
+    Binding binding() {
+        Binding binding = this.binding;
+        if (binding == null) {
+            this.binding = binding = binder.binding(type);
+        }
+        return binding;
+    }
+}
@@ -0,0 +1,90 @@
+package be.twofold.tinyjson.bind;
+
+import be.twofold.tinyjson.*;
+import be.twofold.tinyjson.read.*;
+
+import java.lang.invoke.*;
+import java.lang.reflect.*;
+
+// Binds a record through its components, and creates it through its canonical constructor.
+// The values are gathered in an array indexed like the components, which the constructor handle takes as is.
+final class RecordCodec extends ObjectCodec {
+    private final MethodHandle constructor;
+    private final Object[] defaults;
+
+    RecordCodec(JsonBinder binder, Class<?> type) {
+        super(type, properties(binder, type));
+        Object[] components = Types.recordComponents(type);
+        Class<?>[] parameters = new Class<?>[components.length];
+        this.defaults = new Object[components.length];
+        for (int i = 0; i < components.length; i++) {
+            parameters[i] = Types.componentAccessor(components[i]).getReturnType();
+            // a missing primitive gets its default value, like a field would
+            if (parameters[i].isPrimitive()) {
+                defaults[i] = Array.get(Array.newInstance(parameters[i], 1), 0);
+            }
+        }
+        try {
+            Constructor<?> constructor = type.getDeclaredConstructor(parameters);
+            constructor.setAccessible(true);
+            this.constructor = Types.Lookup.unreflectConstructor(constructor)
+                .asSpreader(Object[].class, parameters.length)
+                .asType(MethodType.methodType(Object.class, Object[].class));
+        } catch (NoSuchMethodException | IllegalAccessException | RuntimeException e) {
+            throw new JsonException("Cannot access the canonical constructor of " + type.getName(), e);
+        }
+    }
+
+    private static Property[] properties(JsonBinder binder, Class<?> type) {
+        Object[] components = Types.recordComponents(type);
+        Property[] properties = new Property[components.length];
+        for (int i = 0; i < components.length; i++) {
+            Method accessor = Types.componentAccessor(components[i]);
+            try {
+                accessor.setAccessible(true);
+                MethodHandle getter = Types.Lookup.unreflect(accessor);
+                properties[i] = new Property(binder, Types.componentName(components[i]), Types.componentType(components[i]), getter, null);
+            } catch (IllegalAccessException | RuntimeException e) {
+                throw new JsonException("Cannot access record component " + accessor, e);
+            }
+        }
+        return properties;
+    }
+
+    @Override
+    public Object deserialize(JsonValue value, JsonDeserializationContext context) {
+        JsonObject object = value.asObject();
+        Object[] values = defaults.clone();
+        for (Property property : properties) {
+            JsonValue field = object.get(property.name);
+            if (field != null) {
+                values[property.index] = property.binding().deserialize(field);
+            }
+        }
+        return create(values);
+    }
+
+    @Override
+    Object readProperties(JsonReader reader) {
+        Object[] values = defaults.clone();
+        int next = 0;
+        while (reader.hasNext()) {
+            Property property = property(reader.nextName(), next);
+            if (property == null) {
+                reader.skipValue();
+                continue;
+            }
+            values[property.index] = property.binding().read(reader);
+            next = property.index + 1;
+        }
+        return create(values);
+    }
+
+    private Object create(Object[] values) {
+        try {
+            return (Object) constructor.invokeExact(values);
+        } catch (Throwable t) {
+            throw Types.propagate(t);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package be.twofold.tinyjson.bind;
+
+import be.twofold.tinyjson.*;
+import be.twofold.tinyjson.read.*;
+
+import java.io.*;
+import java.math.*;
+import java.util.*;
+
+final class ScalarCodecs {
+
+    private static final Map<Class<?>, Codec> Codecs = new HashMap<>();
+
+    static {
+        Codec booleans = new Scalar(
+            object -> Json.bool((Boolean) object), JsonValue::asBoolean,
+            (object, writer) -> writer.value((boolean) (Boolean) object), JsonReader::nextBoolean);
+        Codec chars = new Scalar(
+            object -> Json.string(String.valueOf(object)), value -> character(value.asString()),
+            (object, writer) -> writer.value(String.valueOf(object)), reader -> character(reader.nextString()));
+        Codec strings = new Scalar(
+            object -> Json.string((String) object), JsonValue::asString,
+            (object, writer) -> writer.value((String) object), JsonReader::nextString);
+
+        Codecs.put(boolean.class, booleans);
+        Codecs.put(Boolean.class, booleans);
+        Codecs.put(char.class, chars);
+        Codecs.put(Character.class, chars);
+        Codecs.put(String.class, strings);
+        number(JsonValue::asByte, reader -> (byte) reader.nextInt(), byte.class, Byte.class);
+        number(JsonValue::asShort, reader -> (short) reader.nextInt(), short.class, Short.class);
+        number(JsonValue::asInt, JsonReader::nextInt, int.class, Integer.class);
+        number(JsonValue::asLong, JsonReader::nextLong, long.class, Long.class);
+        number(JsonValue::asFloat, reader -> (float) reader.nextDouble(), float.class, Float.class);
+        number(JsonValue::asDouble, JsonReader::nextDouble, double.class, Double.class);
+        number(JsonValue::asNumber, JsonReader::nextNumber, Number.class);
+        number(value -> integer(value.asNumber()), reader -> integer(reader.nextNumber()), BigInteger.class);
+        number(value -> decimal(value.asNumber()), reader -> decimal(reader.nextNumber()), BigDecimal.class);
+    }
+
+    private ScalarCodecs() {
+        throw new UnsupportedOperationException();
+    }
+
+    static Codec get(Class<?> type) {
+        return Codecs.get(type);
+    }
+
+    private static void number(Decoder decoder, StreamDecoder reader, Class<?>... types) {
+        Codec codec = new Scalar(
+            object -> Json.number((Number) object), decoder,
+            (object, writer) -> writer.value((Number) object), reader);
+        for (Class<?> type : types) {
+            Codecs.put(type, codec);
+        }
+    }
+
+    private static Character character(String s) {
+        if (s.length() != 1) {
+            throw new JsonException("Expected a single character, but got \"" + s + "\"");
+        }
+        return s.charAt(0);
+    }
+
+    // The number keeps its text when parsed, so this doesn't go through a double
+    private static BigDecimal decimal(Number number) {
+        if (number instanceof BigDecimal) {
+            return (BigDecimal) number;
+        }
+        if (number instanceof BigInteger) {
+            return new BigDecimal((BigInteger) number);
+        }
+        return new BigDecimal(number.toString());
+    }
+
+    // The exponent is expanded into digits, so a short text like 1e99999999 must not get that far
+    private static BigInteger integer(Number number) {
+        BigDecimal decimal = decimal(number);
+        long digits = (long) decimal.precision() - decimal.scale();
+        if (digits > ParserOptions.Default.maxNumberLength()) {
+            throw new JsonException("Integer is longer than " + ParserOptions.Default.maxNumberLength() + " digits");
+        }
+        try {
+            return decimal.toBigIntegerExact();
+        } catch (ArithmeticException e) {
+            throw new JsonException("Not an integer: " + number, e);
+        }
+    }
+
+    private interface Encoder {
+        JsonValue encode(Object object);
+    }
+
+    private interface Decoder {
+        Object decode(JsonValue value);
+    }
+
+    private interface StreamEncoder {
+        void write(Object object, JsonWriter writer) throws IOException;
+    }
+
+    private interface StreamDecoder {
+        Object read(JsonReader reader);
+    }
+
+    private static final class Scalar implements Codec {
+        private final Encoder encoder;
+        private final Decoder decoder;
+        private final StreamEncoder writer;
+        private final StreamDecoder reader;
+
+        Scalar(Encoder encoder, Decoder decoder, StreamEncoder writer, StreamDecoder reader) {
+            this.encoder = encoder;
+            this.decoder = decoder;
+            this.writer = writer;
+            this.reader = reader;
+        }
+
+        @Override
+        public JsonValue serialize(Object object, JsonSerializationContext context) {
+            return encoder.encode(object);
+        }
+
+        @Override
+        public Object deserialize(JsonValue value, JsonDeserializationContext context) {
+            return decoder.decode(value);
+        }
+
+        @Override
+        public void write(Object object, JsonWriter writer, JsonSerializationContext context) throws IOException {
+            this.writer.write(object, writer);
+        }
+
+        @Override
+        public Object read(JsonReader reader, JsonDeserializationContext context) {
+            return this.reader.read(reader);
+        }
+    }
+
+}
@@ -0,0 +1,61 @@
+package be.twofold.tinyjson.bind;
+
+import be.twofold.tinyjson.*;
+import be.twofold.tinyjson.read.*;
+
+import java.io.*;
+import java.util.*;
+
+// Wraps a registered or generated codec for a subtype in a polymorphic hierarchy, which doesn't know its discriminator.
+// The discriminator is added in front of what it writes, and taken out again before it reads, both through a tree.
+final class SubtypeCodec implements Codec {
+    private final String discriminator;
+    private final String typeName;
+    private final JsonSerializer<Object> serializer;
+    private final JsonDeserializer<Object> deserializer;
+
+    SubtypeCodec(Class<?> type, JsonSerializer<Object> serializer, JsonDeserializer<Object> deserializer) {
+        this.discriminator = Subtypes.property(type);
+        this.typeName = Subtypes.name(type);
+        this.serializer = serializer;
+        this.deserializer = deserializer;
+    }
+
+    @Override
+    public JsonValue serialize(Object object, JsonSerializationContext context) {
+        JsonValue value = serializer.serialize(object, context);
+        if (!value.isObject() || value.asObject().has(discriminator)) {
+            return value;
+        }
+        JsonObject result = Json.object(value.asObject().size() + 1);
+        result.add(discriminator, typeName);
+        for (Map.Entry<String, JsonValue> entry : value.asObject()) {
+            result.add(entry.getKey(), entry.getValue());
+        }
+        return result;
+    }
+
+    @Override
+    public void write(Object object, JsonWriter writer, JsonSerializationContext context) throws IOException {
+        writer.value(serialize(object, context));
+    }
+
+    @Override
+    public Object deserialize(JsonValue value, JsonDeserializationContext context) {
+        if (value.isObject() && value.asObject().has(discriminator)) {
+            JsonObject object = Json.object(value.asObject().size() - 1);
+            for (Map.Entry<String, JsonValue> entry : value.asObject()) {
+                if (!entry.getKey().equals(discriminator)) {
+                    object.add(entry.getKey(), entry.getValue());
+                }
+            }
+            value = object;
+        }
+        return deserializer.deserialize(value, context);
+    }
+
+    @Override
+    public Object read(JsonReader reader, JsonDeserializationContext context) {
+        return deserialize(reader.nextValue(), context);
+    }
+}
@@ -0,0 +1,96 @@
+package be.twofold.tinyjson.bind;
+
+import be.twofold.tinyjson.*;
+
+import java.lang.reflect.*;
+import java.util.*;
+
+// What the binder knows about polymorphic hierarchies: sealed classes and interfaces, and those with a @Discriminator.
+// Every concrete class in one is written with a discriminator naming it, which is read back to pick the subtype.
+final class Subtypes {
+
+    private static final String DefaultProperty = "type";
+
+    private Subtypes() {
+        throw new UnsupportedOperationException();
+    }
+
+    static boolean isPolymorphic(Class<?> type) {
+        return type.isAnnotationPresent(Discriminator.class) || Types.permittedSubclasses(type) != null;
+    }
+
+    // The concrete classes of a hierarchy by name, including the base itself if it isn't abstract
+    static Map<String, Class<?>> of(Class<?> base) {
+        Map<String, Class<?>> result = new LinkedHashMap<>();
+        collect(base, base, result);
+        return result;
+    }
+
+    // Whether a concrete class is part of any polymorphic hierarchy, and so should write its discriminator
+    static boolean isSubtype(Class<?> type) {
+        for (Class<?> supertype : supertypes(type)) {
+            if (isPolymorphic(supertype) && of(supertype).containsValue(type)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // The first @Discriminator of the type or its supertypes, so a whole hierarchy agrees on it
+    static String property(Class<?> type) {
+        for (Class<?> supertype : supertypes(type)) {
+            Discriminator discriminator = supertype.getAnnotation(Discriminator.class);
+            if (discriminator != null) {
+                return discriminator.value();
+            }
+        }
+        return DefaultProperty;
+    }
+
+    static String name(Class<?> type) {
+        DiscriminatorValue value = type.getAnnotation(DiscriminatorValue.class);
+        return value != null ? value.value() : type.getSimpleName();
+    }
+
+    private static void collect(Class<?> base, Class<?> type, Map<String, Class<?>> result) {
+        if (!type.isInterface() && !Modifier.isAbstract(type.getModifiers())) {
+            Class<?> existing = result.put(name(type), type);
+            if (existing != null && existing != type) {
+                throw new JsonException("Both " + existing.getName() + " and " + type.getName() + " are named " + name(type) + " in " + base.getName());
+            }
+        }
+        for (Class<?> subtype : direct(type)) {
+            if (subtype == type || !type.isAssignableFrom(subtype)) {
+                throw new JsonException(subtype.getName() + " is not a subtype of " + type.getName());
+            }
+            collect(base, subtype, result);
+        }
+    }
+
+    private static Class<?>[] direct(Class<?> type) {
+        Discriminator discriminator = type.getAnnotation(Discriminator.class);
+        if (discriminator != null && discriminator.subtypes().length != 0) {
+            return discriminator.subtypes();
+        }
+        Class<?>[] permitted = Types.permittedSubclasses(type);
+        return permitted != null ? permitted : new Class<?>[0];
+    }
+
+    // The type, its superclasses and its interfaces, nearest first
+    private static Set<Class<?>> supertypes(Class<?> type) {
+        Set<Class<?>> result = new LinkedHashSet<>();
+        Deque<Class<?>> queue = new ArrayDeque<>();
+        queue.add(type);
+        while (!queue.isEmpty()) {
+            Class<?> c = queue.remove();
+            if (c == Object.class || !result.add(c)) {
+                continue;
+            }
+            if (c.getSuperclass() != null) {
+                queue.add(c.getSuperclass());
+            }
+            Collections.addAll(queue, c.getInterfaces());
+        }
+        return result;
+    }
+}
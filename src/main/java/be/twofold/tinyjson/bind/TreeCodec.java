@@ -0,0 +1,42 @@
+package be.twofold.tinyjson.bind;
+
+import be.twofold.tinyjson.*;
+import be.twofold.tinyjson.read.*;
+
+import java.io.*;
+
+// Passes JsonValue fields through as they are
+final class TreeCodec implements Codec {
+    private final Class<?> type;
+
+    TreeCodec(Class<?> type) {
+        this.type = type;
+    }
+
+    @Override
+    public JsonValue serialize(Object object, JsonSerializationContext context) {
+        return (JsonValue) object;
+    }
+
+    @Override
+    public Object deserialize(JsonValue value, JsonDeserializationContext context) {
+        return check(value);
+    }
+
+    @Override
+    public void write(Object object, JsonWriter writer, JsonSerializationContext context) throws IOException {
+        writer.value((JsonValue) object);
+    }
+
+    @Override
+    public Object read(JsonReader reader, JsonDeserializationContext context) {
+        return check(reader.nextValue());
+    }
+
+    private Object check(JsonValue value) {
+        if (!type.isInstance(value)) {
+            throw new IllegalStateException("Value is not of type " + type.getSimpleName());
+        }
+        return value;
+    }
+}
@@ -0,0 +1,171 @@
+package be.twofold.tinyjson.bind;
+
+import be.twofold.tinyjson.*;
+
+import java.lang.invoke.*;
+import java.lang.reflect.*;
+
+final class Types {
+
+    static final MethodHandles.Lookup Lookup = MethodHandles.lookup();
+
+    // Records and sealed classes came after Java 8, so they are only looked up when running on a newer version
+    private static final Method IsRecord = method(Class.class, "isRecord");
+    private static final Method RecordComponents = method(Class.class, "getRecordComponents");
+    private static final Method PermittedSubclasses = method(Class.class, "getPermittedSubclasses");
+    private static final Method ComponentName = method("java.lang.reflect.RecordComponent", "getName");
+    private static final Method ComponentType = method("java.lang.reflect.RecordComponent", "getGenericType");
+    private static final Method ComponentAccessor = method("java.lang.reflect.RecordComponent", "getAccessor");
+
+    private Types() {
+        throw new UnsupportedOperationException();
+    }
+
+    static Class<?> raw(Type type) {
+        if (type instanceof Class<?>) {
+            return (Class<?>) type;
+        }
+        if (type instanceof ParameterizedType) {
+            return raw(((ParameterizedType) type).getRawType());
+        }
+        if (type instanceof GenericArrayType) {
+            return Array.newInstance(raw(((GenericArrayType) type).getGenericComponentType()), 0).getClass();
+        }
+        if (type instanceof WildcardType) {
+            return raw(((WildcardType) type).getUpperBounds()[0]);
+        }
+        if (type instanceof TypeVariable<?>) {
+            // not resolved against the declaring type, so only the bound is known
+            return raw(((TypeVariable<?>) type).getBounds()[0]);
+        }
+        throw new IllegalArgumentException("Unsupported type: " + type);
+    }
+
+    // The type argument at the given index, or Object for a raw type
+    static Type argument(Type type, int index) {
+        if (type instanceof ParameterizedType) {
+            Type argument = ((ParameterizedType) type).getActualTypeArguments()[index];
+            return argument instanceof WildcardType ? ((WildcardType) argument).getUpperBounds()[0] : argument;
+        }
+        return Object.class;
+    }
+
+    static Type component(Type type) {
+        if (type instanceof GenericArrayType) {
+            return ((GenericArrayType) type).getGenericComponentType();
+        }
+        return raw(type).getComponentType();
+    }
+
+    static Class<?> box(Class<?> type) {
+        if (!type.isPrimitive()) {
+            return type;
+        }
+        if (type == boolean.class) {
+            return Boolean.class;
+        }
+        if (type == byte.class) {
+            return Byte.class;
+        }
+        if (type == short.class) {
+            return Short.class;
+        }
+        if (type == char.class) {
+            return Character.class;
+        }
+        if (type == int.class) {
+            return Integer.class;
+        }
+        if (type == long.class) {
+            return Long.class;
+        }
+        if (type == float.class) {
+            return Float.class;
+        }
+        if (type == double.class) {
+            return Double.class;
+        }
+        return Void.class;
+    }
+
+    // The no-arg constructor as a ()Object handle, or null if the type has none or it can't be made accessible
+    static MethodHandle constructor(Class<?> type) {
+        if (type.isInterface() || Modifier.isAbstract(type.getModifiers())) {
+            return null;
+        }
+        try {
+            Constructor<?> constructor = type.getDeclaredConstructor();
+            constructor.setAccessible(true);
+            return Lookup.unreflectConstructor(constructor).asType(MethodType.methodType(Object.class));
+        } catch (NoSuchMethodException | IllegalAccessException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    // region Records and sealed classes
+
+    static boolean isRecord(Class<?> type) {
+        return IsRecord != null && (Boolean) invoke(IsRecord, type);
+    }
+
+    // The components of a record, in declaration order, which is also the order of the canonical constructor
+    static Object[] recordComponents(Class<?> type) {
+        return (Object[]) invoke(RecordComponents, type);
+    }
+
+    static String componentName(Object component) {
+        return (String) invoke(ComponentName, component);
+    }
+
+    static Type componentType(Object component) {
+        return (Type) invoke(ComponentType, component);
+    }
+
+    static Method componentAccessor(Object component) {
+        return (Method) invoke(ComponentAccessor, component);
+    }
+
+    // The permitted subclasses of a sealed class or interface, or null if it isn't sealed
+    static Class<?>[] permittedSubclasses(Class<?> type) {
+        return PermittedSubclasses != null ? (Class<?>[]) invoke(PermittedSubclasses, type) : null;
+    }
+
+    private static Method method(String className, String name) {
+        try {
+            return method(Class.forName(className), name);
+        } catch (ClassNotFoundException e) {
+            return null;
+        }
+    }
+
+    private static Method method(Class<?> type, String name) {
+        try {
+            return type.getMethod(name);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    private static Object invoke(Method method, Object target) {
+        try {
+            return method.invoke(target);
+        } catch (InvocationTargetException e) {
+            throw propagate(e.getCause());
+        } catch (IllegalAccessException e) {
+            throw new JsonException(e);
+        }
+    }
+
+    // endregion
+
+    static RuntimeException propagate(Throwable t) {
+        if (t instanceof Error) {
+            throw (Error) t;
+        }
+        if (t instanceof RuntimeException) {
+            return (RuntimeException) t;
+        }
+        return new JsonException(t);
+    }
+
+}
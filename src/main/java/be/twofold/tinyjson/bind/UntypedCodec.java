@@ -0,0 +1,93 @@
+package be.twofold.tinyjson.bind;
+
+import be.twofold.tinyjson.*;
+import be.twofold.tinyjson.read.*;
+
+import java.io.*;
+import java.util.*;
+
+// Binds to plain Java values when nothing more than Object is known: maps, lists, strings, numbers and booleans
+final class UntypedCodec implements Codec {
+    static final UntypedCodec Instance = new UntypedCodec();
+
+    private UntypedCodec() {
+    }
+
+    @Override
+    public JsonValue serialize(Object object, JsonSerializationContext context) {
+        // only reached for a bare Object, anything else is serialized by its runtime class
+        return Json.object();
+    }
+
+    @Override
+    public Object deserialize(JsonValue value, JsonDeserializationContext context) {
+        return toJava(value);
+    }
+
+    @Override
+    public void write(Object object, JsonWriter writer, JsonSerializationContext context) throws IOException {
+        writer.beginObject().endObject();
+    }
+
+    @Override
+    public Object read(JsonReader reader, JsonDeserializationContext context) {
+        switch (reader.peek()) {
+            case ObjectStart:
+                Map<String, Object> map = new LinkedHashMap<>();
+                reader.beginObject();
+                while (reader.hasNext()) {
+                    map.put(reader.nextName(), read(reader, context));
+                }
+                reader.endObject();
+                return map;
+            case ArrayStart:
+                List<Object> list = new ArrayList<>();
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    list.add(read(reader, context));
+                }
+                reader.endArray();
+                return list;
+            case String:
+                return reader.nextString();
+            case Number:
+                Number number = reader.nextNumber();
+                return Json.number(number).fitsInLong() ? (Object) number.longValue() : (Object) number.doubleValue();
+            case True:
+            case False:
+                return reader.nextBoolean();
+            default:
+                reader.nextNull();
+                return null;
+        }
+    }
+
+    private static Object toJava(JsonValue value) {
+        if (value.isObject()) {
+            JsonObject object = value.asObject();
+            Map<String, Object> map = new LinkedHashMap<>(object.size() * 4 / 3 + 1);
+            for (Map.Entry<String, JsonValue> entry : object) {
+                map.put(entry.getKey(), toJava(entry.getValue()));
+            }
+            return map;
+        }
+        if (value.isArray()) {
+            JsonArray array = value.asArray();
+            List<Object> list = new ArrayList<>(array.size());
+            for (int i = 0; i < array.size(); i++) {
+                list.add(toJava(array.get(i)));
+            }
+            return list;
+        }
+        if (value.isString()) {
+            return value.asString();
+        }
+        if (value.isNumber()) {
+            return value.fitsInLong() ? (Object) value.asLong() : (Object) value.asDouble();
+        }
+        if (value.isBoolean()) {
+            return value.asBoolean();
+        }
+        return null;
+    }
+}
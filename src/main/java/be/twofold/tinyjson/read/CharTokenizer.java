@@ -0,0 +1,184 @@
+package be.twofold.tinyjson.read;
+
+import be.twofold.tinyjson.*;
+
+import java.io.*;
+import java.util.*;
+
+final class CharTokenizer extends JsonTokenizer {
+    private Reader reader;
+    private char[] buffer;
+
+    CharTokenizer(Reader reader) {
+        this(reader, BufferSize);
+    }
+
+    CharTokenizer(Reader reader, int bufferSize) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("bufferSize must be positive");
+        }
+        this.reader = Objects.requireNonNull(reader, "reader cannot be null");
+        this.buffer = new char[bufferSize];
+    }
+
+    void reset(Reader reader) {
+        reset();
+        this.reader = Objects.requireNonNull(reader, "reader cannot be null");
+        if (buffer.length > MaxRetainedSize) {
+            buffer = new char[BufferSize];
+        }
+    }
+
+    @Override
+    void release() {
+        reader = null;
+    }
+
+    @Override
+    String parseString(SymbolTable symbols) {
+        // fast path: the whole string is in the buffer and needs no unescaping
+        int start = position;
+        while (position < limit) {
+            char c = buffer[position];
+            if (c == '"') {
+                checkStringLength(position - start);
+                String result = symbols != null
+                    ? symbols.get(buffer, start, position)
+                    : new String(buffer, start, position - start);
+                position++;
+                return result;
+            }
+            if (!isPlain(c)) {
+                break;
+            }
+            position++;
+        }
+
+        builder.setLength(0);
+        builder.append(buffer, start, position - start);
+        while (true) {
+            if (position == limit && !fill()) {
+                throw ex("Unclosed string literal");
+            }
+
+            char c = buffer[position];
+            if (c == '"') {
+                position++;
+                return builder.toString();
+            }
+            if (c == '\\') {
+                position++;
+                parseEscape();
+            } else if (c < 0x20) {
+                throw ex("Raw control character");
+            } else if (Character.isSurrogate(c)) {
+                parseSurrogatePair();
+            } else {
+                start = position;
+                do {
+                    position++;
+                } while (position < limit && isPlain(buffer[position]));
+                builder.append(buffer, start, position - start);
+            }
+            checkStringLength(builder.length());
+        }
+    }
+
+    private void parseSurrogatePair() {
+        char high = buffer[position++];
+        if (Character.isLowSurrogate(high)) {
+            throw ex("Unpaired low surrogate");
+        }
+        int low = peek();
+        if (low < 0 || !Character.isLowSurrogate((char) low)) {
+            throw ex("Unpaired high surrogate");
+        }
+        position++;
+        builder.append(high).append((char) low);
+    }
+
+    @Override
+    void skipString() {
+        while (position < limit || fill()) {
+            char c = buffer[position];
+            if (c == '"') {
+                position++;
+                return;
+            }
+            if (c == '\\') {
+                // whatever follows the backslash can't end the string
+                position++;
+                if (position == limit && !fill()) {
+                    break;
+                }
+            } else if (c < 0x20) {
+                throw ex("Raw control character");
+            }
+            position++;
+        }
+        throw ex("Unclosed string literal");
+    }
+
+    @Override
+    String text(int start, int end) {
+        return new String(buffer, start, end - start);
+    }
+
+    @Override
+    int skipWhitespace() {
+        while (position < limit || fill()) {
+            char c = buffer[position];
+            if (c == '\n') {
+                line++;
+                lineStart = offset + position + 1;
+            } else if (c != ' ' && c != '\r' && c != '\t') {
+                return c;
+            }
+            position++;
+        }
+        return -1;
+    }
+
+    @Override
+    int peek() {
+        return position < limit || fill() ? buffer[position] : -1;
+    }
+
+    private boolean fill() {
+        if (mark >= 0) {
+            // keep the marked chars, growing the buffer when they fill it completely
+            int length = limit - mark;
+            if (length == buffer.length) {
+                buffer = Arrays.copyOf(buffer, buffer.length * 2);
+            }
+            System.arraycopy(buffer, mark, buffer, 0, length);
+            offset += mark;
+            mark = 0;
+            position = length;
+            limit = length;
+        } else {
+            offset += limit;
+            position = 0;
+            limit = 0;
+        }
+
+        try {
+            int read;
+            do {
+                read = reader.read(buffer, limit, buffer.length - limit);
+            } while (read == 0);
+            if (read < 0) {
+                return false;
+            }
+            limit += read;
+            checkDocumentLength();
+            return true;
+        } catch (IOException e) {
+            throw new JsonException("Unexpected I/O error", e);
+        }
+    }
+
+    private static boolean isPlain(char c) {
+        return c >= 0x20 && c != '"' && c != '\\' && !Character.isSurrogate(c);
+    }
+}
@@ -0,0 +1,110 @@
+package be.twofold.tinyjson.read;
+
+import java.math.*;
+
+// Eisel-Lemire: converts w * 10^q to the nearest double with a single 128-bit multiplication in the common case
+final class EiselLemire {
+
+    private static final int QMin = -348;
+    private static final int QMax = 347;
+
+    // The 128 most significant bits of 10^q, rounded down
+    private static final long[] High = new long[QMax - QMin + 1];
+    private static final long[] Low = new long[QMax - QMin + 1];
+
+    static {
+        for (int q = QMin; q <= QMax; q++) {
+            BigInteger mantissa;
+            if (q >= 0) {
+                BigInteger power = BigInteger.TEN.pow(q);
+                int shift = power.bitLength() - 128;
+                mantissa = shift > 0 ? power.shiftRight(shift) : power.shiftLeft(-shift);
+            } else {
+                BigInteger power = BigInteger.TEN.pow(-q);
+                mantissa = BigInteger.ONE.shiftLeft(power.bitLength() + 127).divide(power);
+            }
+            High[q - QMin] = mantissa.shiftRight(64).longValue();
+            Low[q - QMin] = mantissa.longValue();
+        }
+    }
+
+    private EiselLemire() {
+        throw new UnsupportedOperationException();
+    }
+
+    // The significand is unsigned, returns NaN when the result can't be decided and a slower path is needed
+    static double toDouble(long w, int q) {
+        if (w == 0) {
+            return 0.0;
+        }
+        if (q < QMin || q > QMax) {
+            return Double.NaN;
+        }
+
+        // normalization
+        int clz = Long.numberOfLeadingZeros(w);
+        w <<= clz;
+        long exponent = ((217706L * q) >> 16) + 64 + 1023 - clz;
+
+        // multiplication
+        long high = High[q - QMin];
+        long xHi = unsignedMultiplyHigh(w, high);
+        long xLo = w * high;
+
+        // wider approximation, when the lower bits could still carry into the upper ones
+        if ((xHi & 0x1ff) == 0x1ff && Long.compareUnsigned(xLo + w, w) < 0) {
+            long low = Low[q - QMin];
+            long yHi = unsignedMultiplyHigh(w, low);
+            long yLo = w * low;
+            long mergedHi = xHi;
+            long mergedLo = xLo + yHi;
+            if (Long.compareUnsigned(mergedLo, xLo) < 0) {
+                mergedHi++;
+            }
+            if ((mergedHi & 0x1ff) == 0x1ff && mergedLo + 1 == 0 && Long.compareUnsigned(yLo + w, w) < 0) {
+                return Double.NaN;
+            }
+            xHi = mergedHi;
+            xLo = mergedLo;
+        }
+
+        // shift to 54 bits
+        long msb = xHi >>> 63;
+        long mantissa = xHi >>> (msb + 9);
+        exponent -= 1 ^ msb;
+
+        // halfway ambiguity
+        if (xLo == 0 && (xHi & 0x1ff) == 0 && (mantissa & 3) == 1) {
+            return Double.NaN;
+        }
+
+        // round from 54 to 53 bits
+        mantissa += mantissa & 1;
+        mantissa >>>= 1;
+        if (mantissa >>> 53 > 0) {
+            mantissa >>>= 1;
+            exponent++;
+        }
+
+        // subnormals, infinities and anything near them go the slow way
+        if (exponent <= 0 || exponent >= 0x7ff) {
+            return Double.NaN;
+        }
+        return Double.longBitsToDouble(exponent << 52 | mantissa & 0xfffffffffffffL);
+    }
+
+    // Math.unsignedMultiplyHigh is Java 18+
+    private static long unsignedMultiplyHigh(long x, long y) {
+        long x1 = x >> 32;
+        long x2 = x & 0xffffffffL;
+        long y1 = y >> 32;
+        long y2 = y & 0xffffffffL;
+        long z2 = x2 * y2;
+        long t = x1 * y2 + (z2 >>> 32);
+        long z1 = (t & 0xffffffffL) + x2 * y1;
+        long z0 = t >> 32;
+        long signed = x1 * y1 + z0 + (z1 >> 32);
+        return signed + (x >> 63 & y) + (y >> 63 & x);
+    }
+
+}
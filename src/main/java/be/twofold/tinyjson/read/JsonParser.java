@@ -3,22 +3,121 @@ package be.twofold.tinyjson.read;
 import be.twofold.tinyjson.*;
 
 import java.io.*;
+import java.nio.channels.*;
+import java.util.*;
 
 public final class JsonParser {
-    private final JsonTokenizer tokenizer;
+    private static final int MaxRetainedEntries = 1 << 16;
+
+    private JsonTokenizer tokenizer;
+    private ParserOptions options = ParserOptions.Default;
+
+    // Values of all open containers, so each one is built at its exact size once it closes
+    private String[] keys = new String[64];
+    private JsonValue[] values = new JsonValue[64];
+    private int top;
+    private long[] longs = new long[64];
+    private double[] doubles = new double[64];
+
+    // The open containers, with where their values start on the stack and the key they are currently reading
+    private boolean[] objects = new boolean[16];
+    private int[] starts = new int[16];
+    private String[] names = new String[16];
+    private int depth;
+    private int maxDepth = ParserOptions.Default.maxDepth();
+    private int depthLimit;
+    private int maxEntries = ParserOptions.Default.maxEntries();
 
     public JsonParser(Reader reader) {
-        this.tokenizer = new JsonTokenizer(reader);
+        this(new CharTokenizer(reader));
     }
 
-    public JsonValue parse() {
-        JsonValue result;
-        try {
-            tokenizer.nextToken();
-            result = parseValue();
-        } catch (StackOverflowError e) {
-            throw new JsonException("Stack overflow");
+    public JsonParser(InputStream input) {
+        this(new Utf8Tokenizer(input));
+    }
+
+    public JsonParser(byte[] bytes, int offset, int length) {
+        this(new Utf8Tokenizer(bytes, offset, length));
+    }
+
+    public JsonParser(FileChannel channel) throws IOException {
+        this(new Utf8Tokenizer(new MappedInputStream(channel)));
+    }
+
+    JsonParser(JsonTokenizer tokenizer) {
+        this.tokenizer = tokenizer;
+    }
+
+    // Keeps one copy of each recently seen key, instead of a new string per occurrence
+    public JsonParser internKeys(boolean internKeys) {
+        tokenizer.symbols = internKeys ? new SymbolTable() : null;
+        return this;
+    }
+
+    public JsonParser options(ParserOptions options) {
+        Objects.requireNonNull(options, "options");
+        tokenizer.options(options);
+        this.options = options;
+        this.maxDepth = options.maxDepth();
+        this.maxEntries = options.maxEntries();
+        return this;
+    }
+
+    // region Reuse
+
+    // Starts over on new input, keeping the options, the symbol table and the buffers
+    public JsonParser reset(Reader reader) {
+        if (tokenizer instanceof CharTokenizer) {
+            ((CharTokenizer) tokenizer).reset(reader);
+            return reset(tokenizer);
         }
+        return reset(new CharTokenizer(reader));
+    }
+
+    public JsonParser reset(InputStream input) {
+        if (tokenizer instanceof Utf8Tokenizer) {
+            ((Utf8Tokenizer) tokenizer).reset(input);
+            return reset(tokenizer);
+        }
+        return reset(new Utf8Tokenizer(input));
+    }
+
+    public JsonParser reset(byte[] bytes, int offset, int length) {
+        if (tokenizer instanceof Utf8Tokenizer) {
+            ((Utf8Tokenizer) tokenizer).reset(bytes, offset, length);
+            return reset(tokenizer);
+        }
+        return reset(new Utf8Tokenizer(bytes, offset, length));
+    }
+
+    private JsonParser reset(JsonTokenizer tokenizer) {
+        tokenizer.symbols = this.tokenizer.symbols;
+        tokenizer.options(options);
+        this.tokenizer = tokenizer;
+
+        pop(0);
+        depth = 0;
+        if (values.length > MaxRetainedEntries) {
+            keys = new String[64];
+            values = new JsonValue[64];
+        }
+        if (longs.length > MaxRetainedEntries) {
+            longs = new long[64];
+            doubles = new double[64];
+        }
+        return this;
+    }
+
+    // Drops the input, so an idle parser doesn't keep it reachable
+    void release() {
+        tokenizer.release();
+    }
+
+    // endregion
+
+    public JsonValue parse() {
+        tokenizer.nextToken();
+        JsonValue result = parseValue(0);
         tokenizer.nextToken();
         if (tokenizer.token() != JsonTokenType.Eof) {
             throw new JsonException("Not a single JSON document");
@@ -27,56 +126,209 @@ public final class JsonParser {
     }
 
 
-    private JsonValue parseValue() {
-        switch (tokenizer.token()) {
-            case ObjectStart:
-                return parseObject();
-            case ArrayStart:
-                return parseArray();
-            case String:
-                return Json.string(tokenizer.value());
-            case Number:
-                return Json.number(new StringNumber(tokenizer.value()));
-            case True:
-                return Json.bool(true);
-            case False:
-                return Json.bool(false);
-            case Null:
-                return Json.Null;
-            default:
-                throw new JsonException("Expected a value, got " + tokenizer.token());
+    // Leaves the last token of the value as the current one. The value starts inside as many containers as given,
+    // which count towards the maximum depth as well.
+    JsonValue parseValue(int outerDepth) {
+        // left behind by a value that failed to parse
+        pop(0);
+        depth = 0;
+        depthLimit = maxDepth - outerDepth;
+
+        while (true) {
+            JsonValue value;
+            switch (tokenizer.token()) {
+                case ObjectStart:
+                    open(true);
+                    tokenizer.nextToken();
+                    if (tokenizer.token() != JsonTokenType.ObjectEnd) {
+                        names[depth - 1] = key();
+                        verify(JsonTokenType.Colon);
+                        continue;
+                    }
+                    value = close();
+                    break;
+                case ArrayStart:
+                    open(false);
+                    tokenizer.nextToken();
+                    if (tokenizer.token() == JsonTokenType.Number) {
+                        value = parseNumbers();
+                        if (value == null) {
+                            continue;
+                        }
+                        depth--;
+                        break;
+                    }
+                    if (tokenizer.token() != JsonTokenType.ArrayEnd) {
+                        continue;
+                    }
+                    value = close();
+                    break;
+                case String:
+                    value = Json.string(tokenizer.value());
+                    break;
+                case Number:
+                    value = Json.number(tokenizer.number());
+                    break;
+                case True:
+                    value = Json.bool(true);
+                    break;
+                case False:
+                    value = Json.bool(false);
+                    break;
+                case Null:
+                    value = Json.Null;
+                    break;
+                default:
+                    throw new JsonException("Expected a value, got " + tokenizer.token());
+            }
+
+            // add the finished value to its container, closing every container that ends right after it
+            while (true) {
+                if (depth == 0) {
+                    return value;
+                }
+                boolean object = objects[depth - 1];
+                if (top - starts[depth - 1] == maxEntries) {
+                    throw new JsonException("More than " + maxEntries + " entries");
+                }
+                push(object ? names[depth - 1] : null, value);
+                tokenizer.nextToken();
+                if (tokenizer.token() != (object ? JsonTokenType.ObjectEnd : JsonTokenType.ArrayEnd)) {
+                    verify(JsonTokenType.Comma);
+                    if (object) {
+                        names[depth - 1] = key();
+                        verify(JsonTokenType.Colon);
+                    }
+                    break;
+                }
+                value = close();
+            }
         }
     }
 
-    private JsonObject parseObject() {
-        tokenizer.nextToken(); // Skip leading ObjectStart
+    private void open(boolean object) {
+        if (depth >= depthLimit) {
+            throw new JsonException("Maximum depth of " + maxDepth + " exceeded");
+        }
+        if (depth == starts.length) {
+            int length = Math.min(depth * 2, maxDepth);
+            objects = Arrays.copyOf(objects, length);
+            starts = Arrays.copyOf(starts, length);
+            names = Arrays.copyOf(names, length);
+        }
+        objects[depth] = object;
+        starts[depth] = top;
+        depth++;
+    }
 
-        JsonObject object = Json.object();
-        while (tokenizer.token() != JsonTokenType.ObjectEnd) {
-            if (object.size() > 0) {
-                verify(JsonTokenType.Comma);
+    private JsonValue close() {
+        depth--;
+        names[depth] = null;
+        int start = starts[depth];
+        if (objects[depth]) {
+            JsonObject object = Json.object(top - start);
+            for (int i = start; i < top; i++) {
+                object.add(keys[i], values[i]);
             }
-            String key = verify(JsonTokenType.String);
-            verify(JsonTokenType.Colon);
-            object.add(key, parseValue());
-            tokenizer.nextToken();
+            pop(start);
+            return object;
         }
 
-        return object;
+        JsonArray array = Json.array(top - start);
+        for (int i = start; i < top; i++) {
+            array.add(values[i]);
+        }
+        pop(start);
+        return array;
     }
 
-    private JsonArray parseArray() {
-        tokenizer.nextToken(); // Skip leading ArrayStart
-
-        JsonArray array = Json.array();
-        while (tokenizer.token() != JsonTokenType.ArrayEnd) {
-            if (array.size() > 0) {
-                verify(JsonTokenType.Comma);
+    // Collects leading numbers unboxed. When a value doesn't fit, the numbers before it are pushed as regular values
+    // instead, and null is returned with that value as the current token, so parseValue carries on from there.
+    private JsonArray parseNumbers() {
+        boolean decimal = false;
+        int size = 0;
+        while (true) {
+            if (size == maxEntries) {
+                throw new JsonException("More than " + maxEntries + " entries");
             }
-            array.add(parseValue());
+            boolean number = tokenizer.token() == JsonTokenType.Number;
+            if (number && !decimal && tokenizer.isLong()) {
+                if (size == longs.length) {
+                    longs = Arrays.copyOf(longs, size * 2);
+                }
+                longs[size++] = tokenizer.longValue();
+            } else if (number && fitsDouble() && (decimal || fitDoubles(size))) {
+                if (!decimal) {
+                    if (doubles.length < longs.length) {
+                        doubles = new double[longs.length];
+                    }
+                    for (int i = 0; i < size; i++) {
+                        doubles[i] = longs[i];
+                    }
+                    decimal = true;
+                }
+                if (size == doubles.length) {
+                    doubles = Arrays.copyOf(doubles, size * 2);
+                }
+                doubles[size++] = tokenizer.isLong() ? tokenizer.longValue() : tokenizer.doubleValue();
+            } else {
+                for (int i = 0; i < size; i++) {
+                    push(null, decimal ? Json.number(doubles[i]) : Json.number(longs[i]));
+                }
+                return null;
+            }
+
             tokenizer.nextToken();
+            if (tokenizer.token() == JsonTokenType.ArrayEnd) {
+                return decimal
+                    ? Json.arrayOf(Arrays.copyOf(doubles, size))
+                    : Json.arrayOf(Arrays.copyOf(longs, size));
+            }
+            verify(JsonTokenType.Comma);
         }
-        return array;
+    }
+
+    private boolean fitDoubles(int size) {
+        for (int i = 0; i < size; i++) {
+            if (!fitsDouble(longs[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Whether the current token is exactly a double, so it can be kept unboxed without changing its value
+    private boolean fitsDouble() {
+        return tokenizer.isLong() ? fitsDouble(tokenizer.longValue()) : tokenizer.isExactDouble();
+    }
+
+    private static boolean fitsDouble(long value) {
+        return value >= -(1L << 53) && value <= 1L << 53;
+    }
+
+    private void push(String key, JsonValue value) {
+        if (top == values.length) {
+            keys = Arrays.copyOf(keys, top * 2);
+            values = Arrays.copyOf(values, top * 2);
+        }
+        keys[top] = key;
+        values[top] = value;
+        top++;
+    }
+
+    private void pop(int start) {
+        Arrays.fill(keys, start, top, null);
+        Arrays.fill(values, start, top, null);
+        top = start;
+    }
+
+    private String key() {
+        if (tokenizer.token() != JsonTokenType.String) {
+            throw new JsonException("Expected " + JsonTokenType.String + ", got " + tokenizer.token());
+        }
+        String key = tokenizer.name();
+        tokenizer.nextToken();
+        return key;
     }
 
     private String verify(JsonTokenType expected) {
@@ -0,0 +1,141 @@
+package be.twofold.tinyjson.read;
+
+import java.util.*;
+
+public final class JsonPath {
+    private final String expression;
+    private final Segment[] segments;
+
+    private JsonPath(String expression, Segment[] segments) {
+        this.expression = expression;
+        this.segments = segments;
+    }
+
+    public static JsonPath compile(String expression) {
+        Objects.requireNonNull(expression, "expression");
+        if (!expression.startsWith("$")) {
+            throw ex(expression, "must start with '$'");
+        }
+
+        List<Segment> segments = new ArrayList<>();
+        int i = 1;
+        while (i < expression.length()) {
+            char c = expression.charAt(i++);
+            if (c == '.') {
+                if (i < expression.length() && expression.charAt(i) == '*') {
+                    segments.add(Segment.Wildcard);
+                    i++;
+                    continue;
+                }
+                int start = i;
+                while (i < expression.length() && expression.charAt(i) != '.' && expression.charAt(i) != '[') {
+                    i++;
+                }
+                if (start == i) {
+                    throw ex(expression, "empty name at " + start);
+                }
+                segments.add(Segment.name(expression.substring(start, i)));
+            } else if (c == '[') {
+                i = parseBracket(expression, i, segments);
+            } else {
+                throw ex(expression, "unexpected '" + c + "' at " + (i - 1));
+            }
+        }
+        return new JsonPath(expression, segments.toArray(new Segment[0]));
+    }
+
+    private static int parseBracket(String expression, int i, List<Segment> segments) {
+        if (i >= expression.length()) {
+            throw ex(expression, "unclosed '['");
+        }
+
+        char c = expression.charAt(i);
+        if (c == '*') {
+            segments.add(Segment.Wildcard);
+            i++;
+        } else if (c == '\'' || c == '"') {
+            StringBuilder builder = new StringBuilder();
+            i++;
+            while (i < expression.length() && expression.charAt(i) != c) {
+                char next = expression.charAt(i++);
+                if (next == '\\' && i < expression.length()) {
+                    next = expression.charAt(i++);
+                }
+                builder.append(next);
+            }
+            if (i >= expression.length()) {
+                throw ex(expression, "unclosed quote");
+            }
+            segments.add(Segment.name(builder.toString()));
+            i++;
+        } else {
+            int start = i;
+            while (i < expression.length() && expression.charAt(i) >= '0' && expression.charAt(i) <= '9') {
+                i++;
+            }
+            if (start == i || i - start > 9) {
+                throw ex(expression, "expected an index, a quoted name or '*' at " + start);
+            }
+            segments.add(Segment.index(Integer.parseInt(expression.substring(start, i))));
+        }
+
+        if (i >= expression.length() || expression.charAt(i) != ']') {
+            throw ex(expression, "expected ']' at " + i);
+        }
+        return i + 1;
+    }
+
+    private static IllegalArgumentException ex(String expression, String message) {
+        return new IllegalArgumentException("Invalid path '" + expression + "': " + message);
+    }
+
+    int size() {
+        return segments.length;
+    }
+
+    boolean matches(int level, String name) {
+        Segment segment = segments[level];
+        return segment == Segment.Wildcard || name.equals(segment.name);
+    }
+
+    boolean matches(int level, int index) {
+        Segment segment = segments[level];
+        return segment == Segment.Wildcard || segment.index == index;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return this == obj || obj instanceof JsonPath
+            && expression.equals(((JsonPath) obj).expression);
+    }
+
+    @Override
+    public int hashCode() {
+        return expression.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return expression;
+    }
+
+    private static final class Segment {
+        static final Segment Wildcard = new Segment(null, -1);
+
+        private final String name;
+        private final int index;
+
+        private Segment(String name, int index) {
+            this.name = name;
+            this.index = index;
+        }
+
+        static Segment name(String name) {
+            return new Segment(name, -1);
+        }
+
+        static Segment index(int index) {
+            return new Segment(null, index);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package be.twofold.tinyjson.read;
+
+import be.twofold.tinyjson.*;
+
+import java.util.*;
+
+public final class JsonProjection {
+    private final JsonPath[] paths;
+
+    private JsonProjection(JsonPath[] paths) {
+        this.paths = paths;
+    }
+
+    public static JsonProjection of(String... expressions) {
+        JsonPath[] paths = new JsonPath[expressions.length];
+        for (int i = 0; i < expressions.length; i++) {
+            paths[i] = JsonPath.compile(expressions[i]);
+        }
+        return of(paths);
+    }
+
+    public static JsonProjection of(JsonPath... paths) {
+        return of(Arrays.asList(paths));
+    }
+
+    public static JsonProjection of(Collection<JsonPath> paths) {
+        Set<JsonPath> unique = new LinkedHashSet<>();
+        for (JsonPath path : paths) {
+            unique.add(Objects.requireNonNull(path, "path"));
+        }
+        return new JsonProjection(unique.toArray(new JsonPath[0]));
+    }
+
+    public Map<JsonPath, JsonArray> project(JsonReader reader) {
+        JsonArray[] results = new JsonArray[paths.length];
+        for (int i = 0; i < results.length; i++) {
+            results[i] = Json.array();
+        }
+
+        int[] active = new int[paths.length];
+        for (int i = 0; i < active.length; i++) {
+            active[i] = i;
+        }
+        project(reader, active, active.length, 0, results);
+
+        Map<JsonPath, JsonArray> result = new LinkedHashMap<>();
+        for (int i = 0; i < paths.length; i++) {
+            result.put(paths[i], results[i]);
+        }
+        return result;
+    }
+
+    // Recursion is bounded by the longest path, anything below it is either materialized or skipped
+    private void project(JsonReader reader, int[] active, int count, int level, JsonArray[] results) {
+        if (count == 0) {
+            reader.skipValue();
+            return;
+        }
+
+        for (int i = 0; i < count; i++) {
+            if (paths[active[i]].size() == level) {
+                JsonValue value = reader.nextValue();
+                for (int j = 0; j < count; j++) {
+                    select(value, paths[active[j]], level, results[active[j]]);
+                }
+                return;
+            }
+        }
+
+        int[] next = new int[count];
+        switch (reader.peek()) {
+            case ObjectStart:
+                reader.beginObject();
+                while (reader.hasNext()) {
+                    String name = reader.nextName();
+                    int nextCount = 0;
+                    for (int i = 0; i < count; i++) {
+                        if (paths[active[i]].matches(level, name)) {
+                            next[nextCount++] = active[i];
+                        }
+                    }
+                    project(reader, next, nextCount, level + 1, results);
+                }
+                reader.endObject();
+                break;
+            case ArrayStart:
+                reader.beginArray();
+                for (int index = 0; reader.hasNext(); index++) {
+                    int nextCount = 0;
+                    for (int i = 0; i < count; i++) {
+                        if (paths[active[i]].matches(level, index)) {
+                            next[nextCount++] = active[i];
+                        }
+                    }
+                    project(reader, next, nextCount, level + 1, results);
+                }
+                reader.endArray();
+                break;
+            default:
+                reader.skipValue();
+                break;
+        }
+    }
+
+    private static void select(JsonValue value, JsonPath path, int level, JsonArray result) {
+        if (level == path.size()) {
+            result.add(value);
+        } else if (value.isObject()) {
+            for (Map.Entry<String, JsonValue> entry : value.asObject()) {
+                if (path.matches(level, entry.getKey())) {
+                    select(entry.getValue(), path, level + 1, result);
+                }
+            }
+        } else if (value.isArray()) {
+            JsonArray array = value.asArray();
+            for (int i = 0; i < array.size(); i++) {
+                if (path.matches(level, i)) {
+                    select(array.get(i), path, level + 1, result);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,330 @@
+package be.twofold.tinyjson.read;
+
+import be.twofold.tinyjson.*;
+
+import java.io.*;
+import java.nio.channels.*;
+import java.util.*;
+import java.util.stream.*;
+
+public final class JsonReader {
+    private final JsonTokenizer tokenizer;
+    private final JsonParser parser;
+    private Scope[] stack = new Scope[32];
+    private int depth;
+    private int maxDepth = ParserOptions.Default.maxDepth();
+    private boolean peeked;
+    private boolean lines;
+    private long lastLine = -1;
+
+    public JsonReader(Reader reader) {
+        this(new CharTokenizer(reader));
+    }
+
+    public JsonReader(InputStream input) {
+        this(new Utf8Tokenizer(input));
+    }
+
+    public JsonReader(byte[] bytes, int offset, int length) {
+        this(new Utf8Tokenizer(bytes, offset, length));
+    }
+
+    public JsonReader(FileChannel channel) throws IOException {
+        this(new Utf8Tokenizer(new MappedInputStream(channel)));
+    }
+
+    JsonReader(JsonTokenizer tokenizer) {
+        this.tokenizer = Objects.requireNonNull(tokenizer, "tokenizer cannot be null");
+        this.parser = new JsonParser(tokenizer);
+        push(Scope.EmptyDocument);
+    }
+
+    // Keeps one copy of each recently seen key, instead of a new string per occurrence
+    public JsonReader internKeys(boolean internKeys) {
+        tokenizer.symbols = internKeys ? new SymbolTable() : null;
+        return this;
+    }
+
+    // Limits the values read by this reader, entries are only limited in values read with nextValue()
+    public JsonReader options(ParserOptions options) {
+        Objects.requireNonNull(options, "options");
+        parser.options(options);
+        this.maxDepth = options.maxDepth();
+        return this;
+    }
+
+    // Reads newline-delimited JSON: any number of top-level values, each starting on a new line
+    public JsonReader lines(boolean lines) {
+        this.lines = lines;
+        return this;
+    }
+
+    // The remaining values at this level, like the values of newline-delimited JSON, or the elements of an open array.
+    // They're read one at a time, through the same tokenizer and parser.
+    public Stream<JsonValue> values() {
+        Iterator<JsonValue> iterator = new Iterator<JsonValue>() {
+            @Override
+            public boolean hasNext() {
+                return JsonReader.this.hasNext();
+            }
+
+            @Override
+            public JsonValue next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return nextValue();
+            }
+        };
+        int characteristics = Spliterator.ORDERED | Spliterator.NONNULL;
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, characteristics), false);
+    }
+
+    public JsonTokenType peek() {
+        if (peeked) {
+            return tokenizer.token();
+        }
+
+        tokenizer.nextToken();
+        switch (stack[depth - 1]) {
+            case EmptyDocument:
+                stack[depth - 1] = Scope.NonEmptyDocument;
+                if (tokenizer.token() != JsonTokenType.Eof) {
+                    expectValueStart();
+                }
+                break;
+            case NonEmptyDocument:
+                if (tokenizer.token() != JsonTokenType.Eof) {
+                    if (!lines) {
+                        throw tokenizer.ex("Not a single JSON document");
+                    }
+                    if (tokenizer.line == lastLine) {
+                        throw tokenizer.ex("Expected a new line before the next value");
+                    }
+                    expectValueStart();
+                }
+                break;
+            case EmptyArray:
+                if (tokenizer.token() != JsonTokenType.ArrayEnd) {
+                    stack[depth - 1] = Scope.NonEmptyArray;
+                    expectValueStart();
+                }
+                break;
+            case NonEmptyArray:
+                if (tokenizer.token() != JsonTokenType.ArrayEnd) {
+                    expectToken(JsonTokenType.Comma);
+                    tokenizer.nextToken();
+                    expectValueStart();
+                }
+                break;
+            case EmptyObject:
+                if (tokenizer.token() != JsonTokenType.ObjectEnd) {
+                    expectToken(JsonTokenType.String);
+                }
+                break;
+            case NonEmptyObject:
+                if (tokenizer.token() != JsonTokenType.ObjectEnd) {
+                    expectToken(JsonTokenType.Comma);
+                    tokenizer.nextToken();
+                    expectToken(JsonTokenType.String);
+                }
+                break;
+            case DanglingName:
+                expectToken(JsonTokenType.Colon);
+                tokenizer.nextToken();
+                expectValueStart();
+                break;
+        }
+        peeked = true;
+        return tokenizer.token();
+    }
+
+    public boolean hasNext() {
+        JsonTokenType token = peek();
+        return token != JsonTokenType.ObjectEnd
+            && token != JsonTokenType.ArrayEnd
+            && token != JsonTokenType.Eof;
+    }
+
+    public void beginObject() {
+        expectValue(JsonTokenType.ObjectStart);
+        consumeValue();
+        push(Scope.EmptyObject);
+    }
+
+    public void endObject() {
+        expectPeeked(JsonTokenType.ObjectEnd);
+        depth--;
+        consumeValue();
+    }
+
+    public void beginArray() {
+        expectValue(JsonTokenType.ArrayStart);
+        consumeValue();
+        push(Scope.EmptyArray);
+    }
+
+    public void endArray() {
+        expectPeeked(JsonTokenType.ArrayEnd);
+        depth--;
+        consumeValue();
+    }
+
+    public String nextName() {
+        if (!isName()) {
+            throw tokenizer.ex("Expected a name, got " + peek());
+        }
+        String name = tokenizer.name();
+        peeked = false;
+        stack[depth - 1] = Scope.DanglingName;
+        return name;
+    }
+
+    public String nextString() {
+        expectValue(JsonTokenType.String);
+        String value = tokenizer.value();
+        consumeValue();
+        return value;
+    }
+
+    public boolean nextBoolean() {
+        JsonTokenType token = peek();
+        if (isName() || token != JsonTokenType.True && token != JsonTokenType.False) {
+            throw tokenizer.ex("Expected a boolean, got " + token);
+        }
+        consumeValue();
+        return token == JsonTokenType.True;
+    }
+
+    public void nextNull() {
+        expectValue(JsonTokenType.Null);
+        consumeValue();
+    }
+
+    public Number nextNumber() {
+        expectValue(JsonTokenType.Number);
+        Number value = tokenizer.number();
+        consumeValue();
+        return value;
+    }
+
+    // The primitive accessors read what the tokenizer decoded, without materializing a Number when they can
+    public int nextInt() {
+        return (int) nextLong();
+    }
+
+    public long nextLong() {
+        expectValue(JsonTokenType.Number);
+        long value = tokenizer.isLong() ? tokenizer.longValue() : tokenizer.number().longValue();
+        consumeValue();
+        return value;
+    }
+
+    public double nextDouble() {
+        expectValue(JsonTokenType.Number);
+        double value = tokenizer.doubleValue();
+        if (Double.isNaN(value)) {
+            value = tokenizer.number().doubleValue();
+        }
+        consumeValue();
+        return value;
+    }
+
+    public JsonValue nextValue() {
+        peek();
+        if (isName()) {
+            throw tokenizer.ex("Expected a value, got a name");
+        }
+        expectValueStart();
+        // the containers this reader has open, the document itself isn't one
+        JsonValue value = parser.parseValue(depth - 1);
+        consumeValue();
+        return value;
+    }
+
+    public void skipValue() {
+        peek();
+        if (isName()) {
+            tokenizer.skipValue();
+            peeked = false;
+            stack[depth - 1] = Scope.DanglingName;
+            return;
+        }
+        expectValueStart();
+        tokenizer.skipValue();
+        consumeValue();
+    }
+
+    // region Helpers
+
+    private boolean isName() {
+        Scope scope = stack[depth - 1];
+        return peek() == JsonTokenType.String
+            && (scope == Scope.EmptyObject || scope == Scope.NonEmptyObject);
+    }
+
+    private void consumeValue() {
+        peeked = false;
+        if (stack[depth - 1] == Scope.DanglingName) {
+            stack[depth - 1] = Scope.NonEmptyObject;
+        } else if (depth == 1) {
+            lastLine = tokenizer.line;
+        }
+    }
+
+    private void expectValue(JsonTokenType expected) {
+        if (isName()) {
+            throw tokenizer.ex("Expected " + expected + ", got a name");
+        }
+        expectPeeked(expected);
+    }
+
+    private void expectPeeked(JsonTokenType expected) {
+        if (peek() != expected) {
+            throw tokenizer.ex("Expected " + expected + ", got " + tokenizer.token());
+        }
+    }
+
+    private void expectToken(JsonTokenType expected) {
+        if (tokenizer.token() != expected) {
+            throw tokenizer.ex("Expected " + expected + ", got " + tokenizer.token());
+        }
+    }
+
+    private void expectValueStart() {
+        switch (tokenizer.token()) {
+            case ObjectStart:
+            case ArrayStart:
+            case String:
+            case Number:
+            case True:
+            case False:
+            case Null:
+                return;
+            default:
+                throw tokenizer.ex("Expected a value, got " + tokenizer.token());
+        }
+    }
+
+    private void push(Scope scope) {
+        if (depth > maxDepth) {
+            throw tokenizer.ex("Maximum depth of " + maxDepth + " exceeded");
+        }
+        if (depth == stack.length) {
+            stack = Arrays.copyOf(stack, depth * 2);
+        }
+        stack[depth++] = scope;
+    }
+
+    // endregion
+
+    private enum Scope {
+        EmptyDocument,
+        NonEmptyDocument,
+        EmptyArray,
+        NonEmptyArray,
+        EmptyObject,
+        DanglingName,
+        NonEmptyObject,
+    }
+}
@@ -2,16 +2,66 @@ package be.twofold.tinyjson.read;
 
 import be.twofold.tinyjson.*;
 
-import java.io.*;
+import java.util.*;
 
-final class JsonTokenizer {
-    private final StringBuilder builder = new StringBuilder();
-    private final PeekingReader reader;
+abstract class JsonTokenizer {
+    static final int BufferSize = 8192;
+    static final int MaxRetainedSize = 1 << 20;
+
+    final StringBuilder builder = new StringBuilder();
+    int position;
+    int limit;
+    int mark = -1;
+    long offset;
+    long line;
+    long lineStart;
     private JsonTokenType token;
     private String value;
+    private boolean pending;
+    private StringNumber number;
+    SymbolTable symbols;
+
+    // Collected by scanNumber, the value is significand * 10^exponent with at most 19 significant digits
+    private boolean negative;
+    private long significand;
+    private int exponent;
+    private int digitCount;
+    private boolean truncated;
+    private boolean integral;
+    private int numberLength;
+    private long[] brackets = new long[1];
 
-    JsonTokenizer(Reader reader) {
-        this.reader = new PeekingReader(reader);
+    // Copied from ParserOptions, so the checks only cost a comparison
+    private long maxDocumentLength = ParserOptions.Default.maxDocumentLength();
+    private int maxStringLength = ParserOptions.Default.maxStringLength();
+    private int maxNumberLength = ParserOptions.Default.maxNumberLength();
+
+    // Forgets the previous input, but keeps the buffers, unless they grew too large to hold on to
+    void reset() {
+        position = 0;
+        limit = 0;
+        mark = -1;
+        offset = 0;
+        line = 0;
+        lineStart = 0;
+        token = null;
+        value = null;
+        pending = false;
+        number = null;
+        builder.setLength(0);
+        if (builder.capacity() > MaxRetainedSize) {
+            builder.trimToSize();
+        }
+    }
+
+    // Drops the input, so an idle tokenizer doesn't keep it reachable
+    abstract void release();
+
+    void options(ParserOptions options) {
+        maxDocumentLength = options.maxDocumentLength();
+        maxStringLength = options.maxStringLength();
+        maxNumberLength = options.maxNumberLength();
+        checkDocumentLength();
     }
 
     JsonTokenType token() {
@@ -19,38 +69,103 @@ final class JsonTokenizer {
     }
 
     String value() {
+        if (pending) {
+            value = parseString(null);
+            pending = false;
+        }
+        if (token == JsonTokenType.Number && value == null) {
+            value = text(mark, position);
+        }
+        return value;
+    }
+
+    // Like value(), but goes through the symbol table if there is one
+    String name() {
+        if (pending) {
+            value = parseString(symbols);
+            pending = false;
+        }
         return value;
     }
 
+    // The text of a number is marked until the next token, and only copied out when asked for
+    StringNumber number() {
+        if (number == null) {
+            number = new StringNumber(value(), negative, significand, exponent, truncated, integral);
+        }
+        return number;
+    }
+
+    // Whether doubleValue() is exactly the number in the text. Up to 15 significant digits survive the round trip
+    // through a double, unless the value overflows, or underflows into the subnormals or to zero.
+    boolean isExactDouble() {
+        if (truncated || negative && significand == 0) {
+            return false;
+        }
+        if (significand == 0) {
+            return true;
+        }
+        // the significand has digitCount digits, so the value is at least 10^magnitude and below 10 times that
+        int magnitude = exponent + digitCount - 1;
+        return digitCount <= 15 && magnitude >= -307 && magnitude < 308;
+    }
+
+    boolean isLong() {
+        return integral && !truncated && significand >= 0 && !(negative && significand == 0);
+    }
+
+    long longValue() {
+        return negative ? -significand : significand;
+    }
+
+    // NaN when the number has to go through number() to be decoded
+    double doubleValue() {
+        if (truncated || negative && significand == 0) {
+            return Double.NaN;
+        }
+        double d = StringNumber.toDouble(significand, exponent);
+        return negative ? -d : d;
+    }
+
     void nextToken() {
-        skipWhitespace();
-        switch (reader.peek()) {
+        if (pending) {
+            skipString();
+            pending = false;
+        }
+        mark = -1;
+        number = null;
+
+        int c = skipWhitespace();
+        switch (c) {
             case '{':
-                reader.read();
+                position++;
                 token(JsonTokenType.ObjectStart, null);
                 break;
             case '}':
-                reader.read();
+                position++;
                 token(JsonTokenType.ObjectEnd, null);
                 break;
             case '[':
-                reader.read();
+                position++;
                 token(JsonTokenType.ArrayStart, null);
                 break;
             case ']':
-                reader.read();
+                position++;
                 token(JsonTokenType.ArrayEnd, null);
                 break;
             case ':':
-                reader.read();
+                position++;
                 token(JsonTokenType.Colon, null);
                 break;
             case ',':
-                reader.read();
+                position++;
                 token(JsonTokenType.Comma, null);
                 break;
             case '"':
-                token(JsonTokenType.String, parseString());
+                // the contents are only parsed when asked for, so they can be skipped cheaply
+                position++;
+                token(JsonTokenType.String, null);
+                pending = true;
                 break;
             case '-':
             case '0':
@@ -63,7 +178,9 @@ final class JsonTokenizer {
             case '7':
             case '8':
             case '9':
-                token(JsonTokenType.Number, parseNumber());
+                mark = position;
+                scanNumber();
+                token(JsonTokenType.Number, null);
                 break;
             case 't':
                 token(JsonTokenType.True, expect("true"));
@@ -78,7 +195,7 @@ final class JsonTokenizer {
                 token(JsonTokenType.Eof, null);
                 break;
             default:
-                throw ex("Unexpected character '" + (char) reader.peek() + "'");
+                throw unexpected(c);
         }
     }
 
@@ -87,64 +204,165 @@ final class JsonTokenizer {
         this.value = value;
     }
 
-    // region String
+    // Skips the value starting at the current token, leaving the last token of the value as the current one.
+    // Inside containers only strings, numbers and literals are validated, and brackets are merely matched.
+    void skipValue() {
+        switch (token) {
+            case String:
+                if (pending) {
+                    skipString();
+                    pending = false;
+                }
+                return;
+            case ObjectStart:
+            case ArrayStart:
+                break;
+            default:
+                return;
+        }
 
-    private String parseString() {
-        // skip leading '"'
-        reader.read();
-        builder.setLength(0);
-        while (!reader.isEof() && reader.peek() != '"') {
-            if (reader.peek() < 0x20) {
-                throw ex("Raw control character");
+        // one bit per open container, set for an object, so every bracket is closed by its own kind
+        int level = 0;
+        brackets[0] = token == JsonTokenType.ObjectStart ? 1 : 0;
+        while (true) {
+            int c = skipWhitespace();
+            switch (c) {
+                case '{':
+                case '[':
+                    position++;
+                    if (++level >>> 6 == brackets.length) {
+                        brackets = Arrays.copyOf(brackets, brackets.length * 2);
+                    }
+                    long bit = 1L << level;
+                    brackets[level >>> 6] = c == '{' ? brackets[level >>> 6] | bit : brackets[level >>> 6] & ~bit;
+                    break;
+                case '}':
+                case ']':
+                    if ((brackets[level >>> 6] >>> level & 1) != (c == '}' ? 1 : 0)) {
+                        throw unexpected(c);
+                    }
+                    position++;
+                    if (--level < 0) {
+                        token(c == '}' ? JsonTokenType.ObjectEnd : JsonTokenType.ArrayEnd, null);
+                        return;
+                    }
+                    break;
+                case ',':
+                case ':':
+                    position++;
+                    break;
+                case '"':
+                    position++;
+                    skipString();
+                    break;
+                case '-':
+                case '0':
+                case '1':
+                case '2':
+                case '3':
+                case '4':
+                case '5':
+                case '6':
+                case '7':
+                case '8':
+                case '9':
+                    scanNumber();
+                    break;
+                case 't':
+                    expect("true");
+                    break;
+                case 'f':
+                    expect("false");
+                    break;
+                case 'n':
+                    expect("null");
+                    break;
+                case -1:
+                    throw ex("Unexpected end of input");
+                default:
+                    throw unexpected(c);
             }
+        }
+    }
 
-            if (reader.peek() == '\\') {
-                reader.read();
-                switch (reader.read()) {
-                    case '"':
-                        builder.append('"');
-                        break;
-                    case '\\':
-                        builder.append('\\');
-                        break;
-                    case '/':
-                        builder.append('/');
-                        break;
-                    case 'b':
-                        builder.append('\b');
-                        break;
-                    case 'f':
-                        builder.append('\f');
-                        break;
-                    case 'n':
-                        builder.append('\n');
-                        break;
-                    case 'r':
-                        builder.append('\r');
-                        break;
-                    case 't':
-                        builder.append('\t');
-                        break;
-                    case 'u':
-                        builder.append(parseUnicode());
-                        break;
-                    default:
-                        throw ex("Illegal escape");
-                }
-            } else {
-                appendNext();
-            }
+    //
+    // Input
+    //
+
+    // Skips whitespace and returns the next character without consuming it, or -1 at the end of input
+    abstract int skipWhitespace();
+
+    // Called with the opening quote already consumed, unescaped strings are looked up in the symbol table if given
+    abstract String parseString(SymbolTable symbols);
+
+    // Called with the opening quote already consumed, consumes the closing quote without building the string
+    abstract void skipString();
+
+    abstract String text(int start, int end);
+
+    abstract int peek();
+
+    // Called after every read from the input
+    void checkDocumentLength() {
+        if (offset + limit > maxDocumentLength) {
+            throw ex("Document is longer than " + maxDocumentLength);
         }
-        if (reader.read() != '"') {
-            throw ex("Unclosed string literal");
+    }
+
+    void checkStringLength(int length) {
+        if (length > maxStringLength) {
+            throw ex("String is longer than " + maxStringLength);
+        }
+    }
+
+    int read() {
+        int c = peek();
+        if (c >= 0) {
+            position++;
+        }
+        return c;
+    }
+
+    // region String
+
+    void parseEscape() {
+        switch (read()) {
+            case '"':
+                builder.append('"');
+                break;
+            case '\\':
+                builder.append('\\');
+                break;
+            case '/':
+                builder.append('/');
+                break;
+            case 'b':
+                builder.append('\b');
+                break;
+            case 'f':
+                builder.append('\f');
+                break;
+            case 'n':
+                builder.append('\n');
+                break;
+            case 'r':
+                builder.append('\r');
+                break;
+            case 't':
+                builder.append('\t');
+                break;
+            case 'u':
+                builder.append(parseUnicode());
+                break;
+            default:
+                throw ex("Illegal escape");
         }
-        return builder.toString();
     }
 
     private char parseUnicode() {
         int result = 0;
         for (int i = 0; i < 4; i++) {
-            int read = reader.read();
+            int read = read();
             if (!isHexDigit(read)) {
                 throw ex("Expected hex digit");
             }
@@ -159,47 +377,99 @@ final class JsonTokenizer {
     // Number
     //
 
-    private String parseNumber() {
-        builder.setLength(0);
+    private void scanNumber() {
+        negative = false;
+        significand = 0;
+        exponent = 0;
+        digitCount = 0;
+        truncated = false;
+        integral = true;
+        numberLength = 0;
 
-        if (reader.peek() == '-') {
-            appendNext();
+        if (peek() == '-') {
+            negative = true;
+            position++;
         }
 
         // integer part
-        if (reader.peek() == '0') {
-            appendNext();
+        if (peek() == '0') {
+            position++;
         } else {
-            if (reader.peek() < '1' || reader.peek() > '9') {
-                throw ex("Expected a digit");
-            }
-            digits();
+            digits(false);
         }
 
         // decimal part
-        if (reader.peek() == '.') {
-            appendNext();
-            digits();
+        if (peek() == '.') {
+            integral = false;
+            position++;
+            digits(true);
         }
 
         // exponent part
-        if (reader.peek() == 'e' || reader.peek() == 'E') {
-            appendNext();
-            if (reader.peek() == '-' || reader.peek() == '+') {
-                appendNext();
+        int c = peek();
+        if (c == 'e' || c == 'E') {
+            integral = false;
+            position++;
+            c = peek();
+            boolean negativeExponent = c == '-';
+            if (c == '-' || c == '+') {
+                position++;
+                c = peek();
+            }
+            if (!isDigit(c)) {
+                throw ex("Expected a digit");
             }
-            digits();
+            int power = 0;
+            do {
+                countDigit();
+                // anything this large is zero or infinite anyway
+                if (power < 100_000) {
+                    power = power * 10 + (c - '0');
+                }
+                position++;
+                c = peek();
+            } while (isDigit(c));
+            exponent += negativeExponent ? -power : power;
+        }
+        if (numberLength + digitCount > maxNumberLength) {
+            throw ex("Number is longer than " + maxNumberLength + " digits");
         }
-
-        return builder.toString();
     }
 
-    private void digits() {
-        if (!isDigit(reader.peek())) {
+    private void digits(boolean fraction) {
+        int c = peek();
+        if (!isDigit(c)) {
             throw ex("Expected a digit");
         }
-        while (isDigit(reader.peek())) {
-            appendNext();
+        do {
+            if (significand == 0 && c == '0') {
+                // leading zeros are not significant
+                countDigit();
+                if (fraction) {
+                    exponent--;
+                }
+            } else if (digitCount < 19) {
+                significand = significand * 10 + (c - '0');
+                digitCount++;
+                if (fraction) {
+                    exponent--;
+                }
+            } else {
+                countDigit();
+                truncated = true;
+                if (!fraction) {
+                    exponent++;
+                }
+            }
+            position++;
+            c = peek();
+        } while (isDigit(c));
+    }
+
+    // Only the digits that aren't significant are counted one by one, there are at most 19 others
+    private void countDigit() {
+        if (++numberLength + digitCount > maxNumberLength) {
+            throw ex("Number is longer than " + maxNumberLength + " digits");
         }
     }
 
@@ -207,46 +477,30 @@ final class JsonTokenizer {
     // Helpers
     //
 
-    private JsonException ex(String message) {
-        return new JsonException(message + " at line " + reader.line() + " column " + reader.column());
+    JsonException ex(String message) {
+        long column = offset + position - lineStart + 1;
+        return new JsonException(message + " at line " + (line + 1) + " column " + column);
+    }
+
+    JsonException unexpected(int c) {
+        return ex("Unexpected character '" + (char) c + "'");
     }
 
     private String expect(String expected) {
         for (int i = 0; i < expected.length(); i++) {
-            if (reader.read() != expected.charAt(i)) {
+            if (peek() != expected.charAt(i)) {
                 throw ex("Expected '" + expected + "' literal");
             }
+            position++;
         }
         return expected;
     }
 
-    private void appendNext() {
-        builder.appendCodePoint(reader.read());
-    }
-
-    private void skipWhitespace() {
-        while (isWhitespace(reader.peek())) {
-            reader.read();
-        }
-    }
-
-    private boolean isWhitespace(int c) {
-        switch (c) {
-            case ' ':
-            case '\n':
-            case '\r':
-            case '\t':
-                return true;
-            default:
-                return false;
-        }
-    }
-
-    private boolean isDigit(int c) {
+    static boolean isDigit(int c) {
         return c >= '0' && c <= '9';
     }
 
-    private boolean isHexDigit(int c) {
+    static boolean isHexDigit(int c) {
         return isDigit(c)
             || c >= 'a' && c <= 'f'
             || c >= 'A' && c <= 'F';
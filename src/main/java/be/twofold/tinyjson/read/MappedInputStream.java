@@ -0,0 +1,66 @@
+package be.twofold.tinyjson.read;
+
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.*;
+import java.util.*;
+
+final class MappedInputStream extends InputStream {
+    private static final long WindowSize = 1L << 30;
+
+    private final FileChannel channel;
+    private final long windowSize;
+    private final long end;
+    private long position;
+    private ByteBuffer window;
+
+    MappedInputStream(FileChannel channel) throws IOException {
+        this(channel, WindowSize);
+    }
+
+    MappedInputStream(FileChannel channel, long windowSize) throws IOException {
+        this.channel = Objects.requireNonNull(channel, "channel cannot be null");
+        this.windowSize = windowSize;
+        this.position = channel.position();
+        this.end = channel.size();
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!ensureWindow()) {
+            return -1;
+        }
+        return window.get() & 0xff;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        if (!ensureWindow()) {
+            return -1;
+        }
+        int count = Math.min(len, window.remaining());
+        window.get(b, off, count);
+        return count;
+    }
+
+    @Override
+    public int available() {
+        return window == null ? 0 : window.remaining();
+    }
+
+    private boolean ensureWindow() throws IOException {
+        if (window != null && window.hasRemaining()) {
+            return true;
+        }
+        if (position >= end) {
+            return false;
+        }
+        long size = Math.min(windowSize, end - position);
+        window = channel.map(FileChannel.MapMode.READ_ONLY, position, size);
+        position += size;
+        return true;
+    }
+}
@@ -0,0 +1,109 @@
+package be.twofold.tinyjson.read;
+
+import java.util.*;
+
+// Limits for untrusted input. Lengths are in chars for text, and in bytes for the document when it is read as UTF-8.
+public final class ParserOptions {
+    public static final ParserOptions Default = new ParserOptions(Long.MAX_VALUE, Integer.MAX_VALUE, 1000, 1000, Integer.MAX_VALUE);
+
+    private final long maxDocumentLength;
+    private final int maxStringLength;
+    private final int maxNumberLength;
+    private final int maxDepth;
+    private final int maxEntries;
+
+    private ParserOptions(long maxDocumentLength, int maxStringLength, int maxNumberLength, int maxDepth, int maxEntries) {
+        this.maxDocumentLength = maxDocumentLength;
+        this.maxStringLength = maxStringLength;
+        this.maxNumberLength = maxNumberLength;
+        this.maxDepth = maxDepth;
+        this.maxEntries = maxEntries;
+    }
+
+    public long maxDocumentLength() {
+        return maxDocumentLength;
+    }
+
+    public int maxStringLength() {
+        return maxStringLength;
+    }
+
+    public int maxNumberLength() {
+        return maxNumberLength;
+    }
+
+    public int maxDepth() {
+        return maxDepth;
+    }
+
+    public int maxEntries() {
+        return maxEntries;
+    }
+
+    public ParserOptions withMaxDocumentLength(long maxDocumentLength) {
+        if (maxDocumentLength <= 0) {
+            throw new IllegalArgumentException("maxDocumentLength must be positive");
+        }
+        return new ParserOptions(maxDocumentLength, maxStringLength, maxNumberLength, maxDepth, maxEntries);
+    }
+
+    public ParserOptions withMaxStringLength(int maxStringLength) {
+        if (maxStringLength < 0) {
+            throw new IllegalArgumentException("maxStringLength must not be negative");
+        }
+        return new ParserOptions(maxDocumentLength, maxStringLength, maxNumberLength, maxDepth, maxEntries);
+    }
+
+    public ParserOptions withMaxNumberLength(int maxNumberLength) {
+        if (maxNumberLength <= 0) {
+            throw new IllegalArgumentException("maxNumberLength must be positive");
+        }
+        return new ParserOptions(maxDocumentLength, maxStringLength, maxNumberLength, maxDepth, maxEntries);
+    }
+
+    public ParserOptions withMaxDepth(int maxDepth) {
+        if (maxDepth <= 0) {
+            throw new IllegalArgumentException("maxDepth must be positive");
+        }
+        return new ParserOptions(maxDocumentLength, maxStringLength, maxNumberLength, maxDepth, maxEntries);
+    }
+
+    public ParserOptions withMaxEntries(int maxEntries) {
+        if (maxEntries < 0) {
+            throw new IllegalArgumentException("maxEntries must not be negative");
+        }
+        return new ParserOptions(maxDocumentLength, maxStringLength, maxNumberLength, maxDepth, maxEntries);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof ParserOptions)) {
+            return false;
+        }
+        ParserOptions other = (ParserOptions) obj;
+        return maxDocumentLength == other.maxDocumentLength
+            && maxStringLength == other.maxStringLength
+            && maxNumberLength == other.maxNumberLength
+            && maxDepth == other.maxDepth
+            && maxEntries == other.maxEntries;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(maxDocumentLength, maxStringLength, maxNumberLength, maxDepth, maxEntries);
+    }
+
+    @Override
+    public String toString() {
+        return "ParserOptions(" +
+            "maxDocumentLength=" + maxDocumentLength +
+            ", maxStringLength=" + maxStringLength +
+            ", maxNumberLength=" + maxNumberLength +
+            ", maxDepth=" + maxDepth +
+            ", maxEntries=" + maxEntries +
+            ")";
+    }
+}
@@ -0,0 +1,57 @@
+package be.twofold.tinyjson.read;
+
+import be.twofold.tinyjson.*;
+
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.atomic.*;
+
+// Keeps a few parsers around, so their grown buffers survive from one small document to the next.
+// Threads pick a slot by their id and swap the parser out atomically, rather than owning one in a ThreadLocal,
+// so the pool stays bounded however many (virtual) threads use it, and never blocks.
+public final class ParserPool {
+    public static final ParserPool Default = new ParserPool(2 * Runtime.getRuntime().availableProcessors());
+
+    private final AtomicReferenceArray<JsonParser> slots;
+    private final ParserOptions options;
+
+    public ParserPool(int size) {
+        this(size, ParserOptions.Default);
+    }
+
+    public ParserPool(int size, ParserOptions options) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("size must be positive");
+        }
+        this.slots = new AtomicReferenceArray<>(size);
+        this.options = Objects.requireNonNull(options, "options");
+    }
+
+    public JsonValue parse(Reader reader) {
+        JsonParser parser = slots.getAndSet(slot(), null);
+        return parse(parser != null ? parser.reset(reader) : new JsonParser(reader).options(options));
+    }
+
+    public JsonValue parse(InputStream input) {
+        JsonParser parser = slots.getAndSet(slot(), null);
+        return parse(parser != null ? parser.reset(input) : new JsonParser(input).options(options));
+    }
+
+    public JsonValue parse(byte[] bytes, int offset, int length) {
+        JsonParser parser = slots.getAndSet(slot(), null);
+        return parse(parser != null ? parser.reset(bytes, offset, length) : new JsonParser(bytes, offset, length).options(options));
+    }
+
+    private JsonValue parse(JsonParser parser) {
+        try {
+            return parser.parse();
+        } finally {
+            parser.release();
+            slots.compareAndSet(slot(), null, parser);
+        }
+    }
+
+    private int slot() {
+        return (int) (Thread.currentThread().getId() % slots.length());
+    }
+}
@@ -5,38 +5,126 @@ import java.util.*;
 
 final class StringNumber extends Number {
 
+    private static final long[] PowersOfTen = {
+        1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L, 10_000_000L, 100_000_000L,
+        1_000_000_000L, 10_000_000_000L, 100_000_000_000L, 1_000_000_000_000L, 10_000_000_000_000L,
+        100_000_000_000_000L, 1_000_000_000_000_000L, 10_000_000_000_000_000L, 100_000_000_000_000_000L,
+        1_000_000_000_000_000_000L,
+    };
+
+    private static final double[] DoublePowersOfTen = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+        1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22,
+    };
+
     private final String value;
+    private final long longValue;
+    private final double doubleValue;
+    private final boolean big;
+    private final boolean isLong;
+    private final boolean isDouble;
+
+    // decoded on first use, as they need the text
+    private long bigValue;
+    private boolean bigDecoded;
+    private float floatValue = Float.NaN;
 
-    StringNumber(String value) {
+    // Decodes significand * 10^exponent as collected by the tokenizer, which is truncated if the text has more than 19 digits
+    StringNumber(String value, boolean negative, long significand, int exponent, boolean truncated, boolean integral) {
         this.value = Objects.requireNonNull(value);
+
+        long l = 0;
+        boolean big = truncated;
+        if (!truncated) {
+            if (exponent < 0) {
+                if (-exponent < PowersOfTen.length) {
+                    l = Long.divideUnsigned(significand, PowersOfTen[-exponent]);
+                }
+            } else if (significand < 0) {
+                // more than Long.MAX_VALUE, which is only fine for Long.MIN_VALUE
+                big = !negative || significand != Long.MIN_VALUE || exponent != 0;
+                l = significand;
+            } else {
+                l = significand;
+                for (int i = 0; i < exponent && l != 0; i++) {
+                    if (l > Long.MAX_VALUE / 10) {
+                        big = true;
+                        break;
+                    }
+                    l *= 10;
+                }
+            }
+        }
+        this.longValue = negative ? -l : l;
+        this.big = big;
+
+        double d = Double.NaN;
+        if (significand == 0) {
+            d = 0.0;
+        } else if (!big && exponent >= 0) {
+            // exact integers only need a cast
+            d = Math.abs((double) longValue);
+        } else if (!truncated) {
+            d = toDouble(significand, exponent);
+        }
+        if (Double.isNaN(d)) {
+            d = Math.abs(Double.parseDouble(value));
+        }
+        this.doubleValue = negative ? -d : d;
+
+        // whether a long can stand in for the text exactly, or a double up to its precision
+        boolean negativeZero = negative && significand == 0;
+        this.isLong = integral && !big && !negativeZero;
+        this.isDouble = !truncated && !negativeZero && !Double.isInfinite(d);
+    }
+
+    // The significand is unsigned, returns NaN when the text has to be parsed instead
+    static double toDouble(long significand, int exponent) {
+        if (significand > 0 && significand <= 1L << 53 && exponent >= -22 && exponent <= 22) {
+            // both operands are exact, so a single rounding gives the right answer
+            return exponent < 0
+                ? significand / DoublePowersOfTen[-exponent]
+                : significand * DoublePowersOfTen[exponent];
+        }
+        return EiselLemire.toDouble(significand, exponent);
+    }
+
+    boolean isLong() {
+        return isLong;
+    }
+
+    boolean isDouble() {
+        return isDouble;
     }
 
     @Override
     public int intValue() {
-        try {
-            return Integer.parseInt(value);
-        } catch (NumberFormatException e) {
-            return (int) longValue();
-        }
+        return (int) longValue();
     }
 
     @Override
     public long longValue() {
-        try {
-            return Long.parseLong(value);
-        } catch (NumberFormatException e) {
-            return new BigDecimal(value).longValue();
+        if (!big) {
+            return longValue;
         }
+        if (!bigDecoded) {
+            bigValue = new BigDecimal(value).longValue();
+            bigDecoded = true;
+        }
+        return bigValue;
     }
 
     @Override
     public float floatValue() {
-        return Float.parseFloat(value);
+        if (Float.isNaN(floatValue)) {
+            floatValue = Float.parseFloat(value);
+        }
+        return floatValue;
     }
 
     @Override
     public double doubleValue() {
-        return Double.parseDouble(value);
+        return doubleValue;
     }
 
     @Override
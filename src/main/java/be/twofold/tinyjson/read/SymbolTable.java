@@ -0,0 +1,78 @@
+package be.twofold.tinyjson.read;
+
+import java.nio.charset.*;
+
+// A bounded cache of recently seen keys, looked up straight from the tokenizer's buffer.
+// Every slot holds one string, and a colliding key simply replaces it, so memory stays fixed.
+final class SymbolTable {
+    private static final int Capacity = 512;
+    private static final int MaxLength = 64;
+
+    private final String[] symbols = new String[Capacity];
+
+    String get(char[] chars, int start, int end) {
+        int length = end - start;
+        if (length > MaxLength) {
+            return new String(chars, start, length);
+        }
+
+        // the same hash as String.hashCode(), which the candidate has cached
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + chars[i];
+        }
+        int index = (hash ^ hash >>> 16) & (Capacity - 1);
+        String symbol = symbols[index];
+        if (symbol != null && symbol.hashCode() == hash && matches(symbol, chars, start, length)) {
+            return symbol;
+        }
+        symbol = new String(chars, start, length);
+        symbols[index] = symbol;
+        return symbol;
+    }
+
+    // Only for ASCII bytes
+    String get(byte[] bytes, int start, int end) {
+        int length = end - start;
+        if (length > MaxLength) {
+            return new String(bytes, start, length, StandardCharsets.ISO_8859_1);
+        }
+
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + bytes[i];
+        }
+        int index = (hash ^ hash >>> 16) & (Capacity - 1);
+        String symbol = symbols[index];
+        if (symbol != null && symbol.hashCode() == hash && matches(symbol, bytes, start, length)) {
+            return symbol;
+        }
+        symbol = new String(bytes, start, length, StandardCharsets.ISO_8859_1);
+        symbols[index] = symbol;
+        return symbol;
+    }
+
+    private static boolean matches(String symbol, char[] chars, int start, int length) {
+        if (symbol.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (symbol.charAt(i) != chars[start + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean matches(String symbol, byte[] bytes, int start, int length) {
+        if (symbol.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (symbol.charAt(i) != bytes[start + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
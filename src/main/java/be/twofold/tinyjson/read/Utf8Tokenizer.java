@@ -0,0 +1,309 @@
+package be.twofold.tinyjson.read;
+
+import be.twofold.tinyjson.*;
+
+import java.io.*;
+import java.nio.charset.*;
+import java.util.*;
+
+final class Utf8Tokenizer extends JsonTokenizer {
+    private static final byte[] Empty = new byte[0];
+
+    private InputStream input;
+    private byte[] buffer;
+    private byte[] own; // the buffer for streams, kept aside while parsing a byte array
+
+    Utf8Tokenizer(InputStream input) {
+        this(input, BufferSize);
+    }
+
+    Utf8Tokenizer(InputStream input, int bufferSize) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("bufferSize must be positive");
+        }
+        this.input = Objects.requireNonNull(input, "input cannot be null");
+        this.buffer = new byte[bufferSize];
+        this.own = buffer;
+    }
+
+    Utf8Tokenizer(byte[] bytes, int offset, int length) {
+        reset(bytes, offset, length);
+    }
+
+    void reset(InputStream input) {
+        reset();
+        this.input = Objects.requireNonNull(input, "input cannot be null");
+        if (own == null || own.length > MaxRetainedSize) {
+            own = new byte[BufferSize];
+        }
+        this.buffer = own;
+    }
+
+    void reset(byte[] bytes, int offset, int length) {
+        Objects.requireNonNull(bytes, "bytes cannot be null");
+        if (offset < 0 || length < 0 || offset > bytes.length - length) {
+            throw new IndexOutOfBoundsException("offset " + offset + ", length " + length + ", array length " + bytes.length);
+        }
+        reset();
+        this.input = null;
+        this.buffer = bytes;
+        this.position = offset;
+        this.limit = offset + length;
+        this.offset = -offset;
+    }
+
+    @Override
+    void release() {
+        input = null;
+        buffer = Empty;
+        position = 0;
+        limit = 0;
+    }
+
+    @Override
+    String parseString(SymbolTable symbols) {
+        // fast path: the whole string is in the buffer and needs no unescaping
+        int start = position;
+        boolean ascii = true;
+        while (position < limit) {
+            byte b = buffer[position];
+            if (b == '"') {
+                String result;
+                if (!ascii) {
+                    // fewer chars than bytes, so only the decoded length is exact
+                    result = new String(buffer, start, position - start, StandardCharsets.UTF_8);
+                    checkStringLength(result.length());
+                } else if (symbols != null) {
+                    checkStringLength(position - start);
+                    result = symbols.get(buffer, start, position);
+                } else {
+                    checkStringLength(position - start);
+                    result = new String(buffer, start, position - start, StandardCharsets.ISO_8859_1);
+                }
+                position++;
+                return result;
+            }
+            if (b >= 0x20 && b != '\\') {
+                position++;
+                continue;
+            }
+            int length = b < 0 ? sequenceLength(position) : 0;
+            if (length == 0) {
+                break;
+            }
+            ascii = false;
+            position += length;
+        }
+
+        builder.setLength(0);
+        appendBytes(start, position);
+        while (true) {
+            if (position == limit && !fill()) {
+                throw ex("Unclosed string literal");
+            }
+
+            byte b = buffer[position];
+            if (b == '"') {
+                position++;
+                return builder.toString();
+            }
+            if (b == '\\') {
+                position++;
+                parseEscape();
+            } else if (b < 0) {
+                parseSequence();
+            } else if (b < 0x20) {
+                throw ex("Raw control character");
+            } else {
+                start = position;
+                do {
+                    position++;
+                } while (position < limit && isPlain(buffer[position]));
+                appendBytes(start, position);
+            }
+            checkStringLength(builder.length());
+        }
+    }
+
+    private void appendBytes(int start, int end) {
+        if (start < end) {
+            builder.append(new String(buffer, start, end - start, StandardCharsets.UTF_8));
+        }
+    }
+
+    // Returns the length of the well-formed sequence at index, or 0 if it is malformed or not fully buffered
+    private int sequenceLength(int index) {
+        int b0 = buffer[index] & 0xff;
+        int length;
+        int min = 0x80;
+        int max = 0xbf;
+        if (b0 < 0xc2) {
+            return 0;
+        } else if (b0 < 0xe0) {
+            length = 2;
+        } else if (b0 < 0xf0) {
+            length = 3;
+            if (b0 == 0xe0) {
+                min = 0xa0;
+            } else if (b0 == 0xed) {
+                max = 0x9f;
+            }
+        } else if (b0 < 0xf5) {
+            length = 4;
+            if (b0 == 0xf0) {
+                min = 0x90;
+            } else if (b0 == 0xf4) {
+                max = 0x8f;
+            }
+        } else {
+            return 0;
+        }
+
+        if (index + length > limit) {
+            return 0;
+        }
+        int b1 = buffer[index + 1] & 0xff;
+        if (b1 < min || b1 > max) {
+            return 0;
+        }
+        for (int i = 2; i < length; i++) {
+            if ((buffer[index + i] & 0xc0) != 0x80) {
+                return 0;
+            }
+        }
+        return length;
+    }
+
+    private void parseSequence() {
+        int b0 = read();
+        int codePoint;
+        if (b0 >= 0xc2 && b0 <= 0xdf) {
+            codePoint = (b0 & 0x1f) << 6
+                | continuation(0x80, 0xbf);
+        } else if (b0 >= 0xe0 && b0 <= 0xef) {
+            int min = b0 == 0xe0 ? 0xa0 : 0x80;
+            int max = b0 == 0xed ? 0x9f : 0xbf;
+            codePoint = (b0 & 0x0f) << 12
+                | continuation(min, max) << 6
+                | continuation(0x80, 0xbf);
+        } else if (b0 >= 0xf0 && b0 <= 0xf4) {
+            int min = b0 == 0xf0 ? 0x90 : 0x80;
+            int max = b0 == 0xf4 ? 0x8f : 0xbf;
+            codePoint = (b0 & 0x07) << 18
+                | continuation(min, max) << 12
+                | continuation(0x80, 0xbf) << 6
+                | continuation(0x80, 0xbf);
+        } else {
+            position--;
+            throw ex("Invalid UTF-8 start byte");
+        }
+        builder.appendCodePoint(codePoint);
+    }
+
+    private int continuation(int min, int max) {
+        int b = peek();
+        if (b < min || b > max) {
+            throw ex("Invalid UTF-8 continuation byte");
+        }
+        position++;
+        return b & 0x3f;
+    }
+
+    @Override
+    void skipString() {
+        while (position < limit || fill()) {
+            byte b = buffer[position];
+            if (b == '"') {
+                position++;
+                return;
+            }
+            if (b == '\\') {
+                // whatever follows the backslash can't end the string
+                position++;
+                if (position == limit && !fill()) {
+                    break;
+                }
+            } else if (b >= 0 && b < 0x20) {
+                throw ex("Raw control character");
+            }
+            position++;
+        }
+        throw ex("Unclosed string literal");
+    }
+
+    @Override
+    String text(int start, int end) {
+        return new String(buffer, start, end - start, StandardCharsets.ISO_8859_1);
+    }
+
+    @Override
+    int skipWhitespace() {
+        while (position < limit || fill()) {
+            byte b = buffer[position];
+            if (b == '\n') {
+                line++;
+                lineStart = offset + position + 1;
+            } else if (b != ' ' && b != '\r' && b != '\t') {
+                return b & 0xff;
+            }
+            position++;
+        }
+        return -1;
+    }
+
+    @Override
+    int peek() {
+        return position < limit || fill() ? buffer[position] & 0xff : -1;
+    }
+
+    private boolean fill() {
+        if (input == null) {
+            return false;
+        }
+
+        if (mark >= 0) {
+            // keep the marked bytes, growing the buffer when they fill it completely
+            int length = limit - mark;
+            if (length == buffer.length) {
+                buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                own = buffer;
+            }
+            System.arraycopy(buffer, mark, buffer, 0, length);
+            offset += mark;
+            mark = 0;
+            position = length;
+            limit = length;
+        } else {
+            offset += limit;
+            position = 0;
+            limit = 0;
+        }
+
+        try {
+            int read;
+            do {
+                read = input.read(buffer, limit, buffer.length - limit);
+            } while (read == 0);
+            if (read < 0) {
+                return false;
+            }
+            limit += read;
+            checkDocumentLength();
+            return true;
+        } catch (IOException e) {
+            throw new JsonException("Unexpected I/O error", e);
+        }
+    }
+
+    @Override
+    JsonException unexpected(int c) {
+        if (c >= 0x80) {
+            return ex(String.format("Unexpected byte 0x%02x", c));
+        }
+        return super.unexpected(c);
+    }
+
+    private static boolean isPlain(byte b) {
+        return b >= 0x20 && b != '"' && b != '\\';
+    }
+}
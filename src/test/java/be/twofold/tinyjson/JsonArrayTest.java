@@ -51,4 +51,60 @@ public class JsonArrayTest {
         assertThat(copy).isNotSameAs(value);
     }
 
+    @Test
+    public void testPrimitiveArrays() {
+        JsonArray longs = Json.arrayOf(1, 2, 3);
+        assertThat(longs.size()).isEqualTo(3);
+        assertThat(longs.getLong(1)).isEqualTo(2);
+        assertThat(longs.getDouble(2)).isEqualTo(3.0);
+        assertThat(longs).containsExactly(Json.number(1), Json.number(2), Json.number(3));
+        assertThat(longs).isEqualTo(Json.array().add(1).add(2).add(3));
+
+        JsonArray doubles = Json.arrayOf(0.5, 1.5);
+        assertThat(doubles.getDouble(1)).isEqualTo(1.5);
+        assertThat(doubles.getLong(1)).isEqualTo(1);
+        assertThat(doubles.copy()).isEqualTo(doubles);
+    }
+
+    @Test
+    public void testPrimitiveArraysFallBack() {
+        JsonArray array = Json.arrayOf(1, 2).add(3).add(4.5).add("a");
+        array.set(0, Json.Null);
+        array.remove(1);
+
+        assertThat(array).containsExactly(Json.Null, Json.number(3), Json.number(4.5), Json.string("a"));
+        assertThat(array.getDouble(2)).isEqualTo(4.5);
+        assertThatExceptionOfType(IndexOutOfBoundsException.class).isThrownBy(() -> Json.arrayOf(1L).get(1));
+    }
+
+    @Test
+    public void testParsedNumericArrays() {
+        assertThat(Json.parse("[1, -2, 3]").asArray().getLong(1)).isEqualTo(-2);
+        assertThat(Json.parse("[1, 2.5, 1e2]").asArray().getDouble(2)).isEqualTo(100.0);
+        assertThat(Json.parse("[9007199254740993, 0.5]").asArray().getLong(0)).isEqualTo(9007199254740993L);
+        assertThat(Json.parse("[0.5, 12345678901234567]").asArray().getLong(1)).isEqualTo(12345678901234567L);
+        assertThat(Json.parse("[0.5, 9007199254740992]").asArray().getLong(1)).isEqualTo(9007199254740992L);
+        assertThat(Json.parse("[1, 2, \"a\", 3]").asArray()).containsExactly(
+            Json.number(1), Json.number(2), Json.string("a"), Json.number(3));
+        assertThat(Json.parse("[1, [2], 1e400]").asArray().get(2).asDouble()).isInfinite();
+    }
+
+    @Test
+    public void testCapacity() {
+        assertThat(Json.array(100).add(1).add("a")).containsExactly(Json.number(1), Json.string("a"));
+        assertThatIllegalArgumentException().isThrownBy(() -> Json.array(-1));
+    }
+
+    @Test
+    public void testParsedNestedArrays() {
+        JsonArray expected = Json.array()
+            .add(Json.arrayOf(1, 2))
+            .add(Json.object().add("a", Json.array().add(3).add("x")))
+            .add(Json.array())
+            .add(Json.arrayOf(0.5));
+        assertThat(Json.parse("[[1, 2], {\"a\": [3, \"x\"]}, [], [0.5]]")).isEqualTo(expected);
+        assertThatExceptionOfType(JsonException.class).isThrownBy(() -> Json.parse("[1, 2"));
+        assertThatExceptionOfType(JsonException.class).isThrownBy(() -> Json.parse("[1 2]"));
+    }
+
 }
@@ -1,8 +1,10 @@
 package be.twofold.tinyjson;
 
-import nl.jqno.equalsverifier.*;
 import org.junit.jupiter.api.*;
 
+import java.math.*;
+import java.util.*;
+
 import static org.assertj.core.api.Assertions.*;
 
 public class JsonNumberTest {
@@ -11,10 +13,80 @@ public class JsonNumberTest {
 
     @Test
     public void testEqualsAndHashCode() {
-        EqualsVerifier
-            .forClass(JsonNumber.class)
-            .suppress(Warning.NULL_FIELDS)
-            .verify();
+        // not through EqualsVerifier, which fills the cached kind and key with values that don't belong to the number
+        List<List<JsonValue>> groups = Arrays.asList(
+            Arrays.asList(Json.number(1), Json.number(1.0), Json.parse("1"), Json.parse("1.0"), Json.parse("[1, 2]").asArray().get(0), Json.number(new BigDecimal("1.00"))),
+            Arrays.asList(Json.number(2.5), Json.number(2.5f), Json.parse("2.5"), Json.parse("[2.5, 0.5]").asArray().get(0), Json.number(new BigDecimal("2.50"))),
+            Arrays.asList(Json.number(0x1p64), Json.parse("1.8446744073709552E19")),
+            Arrays.asList(Json.parse("18446744073709551616"), Json.number(BigInteger.ONE.shiftLeft(64))),
+            Arrays.asList(Json.parse("1e400"), Json.parse("10e399"), Json.number(new BigDecimal("1e400"))),
+            Arrays.asList(Json.parse("1e99999999999"), Json.parse("1e99999999999")),
+            Arrays.asList(Json.number(Double.POSITIVE_INFINITY), Json.number(Float.POSITIVE_INFINITY))
+        );
+        for (int i = 0; i < groups.size(); i++) {
+            for (JsonValue a : groups.get(i)) {
+                assertThat(a).isNotEqualTo(null).isNotEqualTo(Json.string(a.toString()));
+                for (int j = 0; j < groups.size(); j++) {
+                    for (JsonValue b : groups.get(j)) {
+                        if (i == j) {
+                            assertThat(a).isEqualTo(b).hasSameHashCodeAs(b);
+                        } else {
+                            assertThat(a).isNotEqualTo(b);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testEqualsByValue() {
+        assertThat(Json.parse("[1.0, 2, 1e2, 0.5]")).isEqualTo(Json.array().add(1).add(2L).add(100.0).add(0.5f));
+        assertThat(Json.number(1)).hasSameHashCodeAs(Json.number(1.0));
+        assertThat(Json.number(9007199254740993L)).isNotEqualTo(Json.number(9007199254740992.0));
+        assertThat(Json.number(0.1)).isNotEqualTo(Json.number(0.1f));
+        assertThat(Json.parse("0.1")).isEqualTo(Json.number(0.1)).hasSameHashCodeAs(Json.number(0.1));
+    }
+
+    @Test
+    public void testEqualsBeyondDoubles() {
+        assertThat(Json.parse("1e400")).isNotEqualTo(Json.parse("2e400"));
+        assertThat(Json.parse("18446744073709551616")).isNotEqualTo(Json.parse("18446744073709551617"));
+        assertThat(Json.parse("0.10000000000000001")).isNotEqualTo(Json.parse("0.1"));
+        assertThat(Json.parse("0.10000000000000001")).isNotEqualTo(Json.number(0.1));
+
+        assertThat(Json.parse("1e400")).isEqualTo(Json.parse("10.0e399")).hasSameHashCodeAs(Json.parse("10.0e399"));
+        assertThat(Json.parse("1e400")).isEqualTo(Json.number(new BigDecimal("1e400")));
+        assertThat(Json.parse("18446744073709551617"))
+            .isEqualTo(Json.number(new BigInteger("18446744073709551617")))
+            .hasSameHashCodeAs(Json.number(new BigDecimal("18446744073709551617.00")));
+        assertThat(Json.parse("1e400")).isNotEqualTo(Json.number(Double.POSITIVE_INFINITY));
+    }
+
+    @Test
+    public void testIntegral() {
+        for (String s : new String[]{"0", "-7", "1.0", "1e2", "12.5e1", "9223372036854775807", "-9223372036854775808"}) {
+            assertThat(Json.parse(s).isIntegral()).as(s).isTrue();
+            assertThat(Json.parse(s).fitsInLong()).as(s).isTrue();
+        }
+        for (String s : new String[]{"9223372036854775808", "1e19", "1e400", "-1e99999999999"}) {
+            assertThat(Json.parse(s).isIntegral()).as(s).isTrue();
+            assertThat(Json.parse(s).fitsInLong()).as(s).isFalse();
+        }
+        for (String s : new String[]{"0.5", "-1e-1", "2.0000000000000001", "9007199254740993.5", "1e-400"}) {
+            assertThat(Json.parse(s).isIntegral()).as(s).isFalse();
+            assertThat(Json.parse(s).fitsInLong()).as(s).isFalse();
+        }
+
+        assertThat(Json.number(3).fitsInLong()).isTrue();
+        assertThat(Json.number(3.0).fitsInLong()).isTrue();
+        assertThat(Json.number(0x1p63).isIntegral()).isTrue();
+        assertThat(Json.number(0x1p63).fitsInLong()).isFalse();
+        assertThat(Json.number(0.25f).isIntegral()).isFalse();
+        assertThat(Json.number(Double.POSITIVE_INFINITY).isIntegral()).isFalse();
+        assertThat(Json.number(new BigDecimal("100.00")).fitsInLong()).isTrue();
+        assertThatIllegalStateException().isThrownBy(() -> Json.string("1").isIntegral());
+        assertThatIllegalStateException().isThrownBy(() -> Json.Null.fitsInLong());
     }
 
     @Test
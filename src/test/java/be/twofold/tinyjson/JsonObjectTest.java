@@ -3,6 +3,8 @@ package be.twofold.tinyjson;
 import nl.jqno.equalsverifier.*;
 import org.junit.jupiter.api.*;
 
+import java.util.*;
+
 import static org.assertj.core.api.Assertions.*;
 
 public class JsonObjectTest {
@@ -51,4 +53,63 @@ public class JsonObjectTest {
         assertThat(copy).isNotSameAs(value);
     }
 
+    @Test
+    public void testInsertionOrder() {
+        JsonValue parsed = Json.parse("{\"z\": 1, \"a\": 2, \"m\": 3}");
+        assertThat(keys(parsed)).containsExactly("z", "a", "m");
+        assertThat(keys(parsed.copy())).containsExactly("z", "a", "m");
+    }
+
+    @Test
+    public void testManyKeys() {
+        JsonObject object = Json.object();
+        for (int i = 0; i < 100; i++) {
+            object.add("key" + i, i);
+        }
+        object.add("key5", "five");
+        for (int i = 0; i < 100; i += 2) {
+            object.remove("key" + i);
+        }
+
+        assertThat(object.size()).isEqualTo(50);
+        assertThat(object.has("key4")).isFalse();
+        assertThat(object.getInt("key99")).isEqualTo(99);
+        assertThat(object.getString("key5")).isEqualTo("five");
+        assertThat(keys(object)).startsWith("key1", "key3", "key5").endsWith("key99");
+        assertThat(object.copy()).isEqualTo(object);
+    }
+
+    @Test
+    public void testIteratorRemove() {
+        JsonObject object = Json.object().add("a", 1).add("b", 2).add("c", 3);
+        Iterator<Map.Entry<String, JsonValue>> iterator = object.iterator();
+        iterator.next().setValue(Json.number(10));
+        iterator.next();
+        iterator.remove();
+
+        assertThat(keys(object)).containsExactly("a", "c");
+        assertThat(object.getInt("a")).isEqualTo(10);
+        assertThat(iterator.next().getKey()).isEqualTo("c");
+        assertThat(iterator.hasNext()).isFalse();
+    }
+
+    @Test
+    public void testCapacity() {
+        JsonObject object = Json.object(32);
+        for (int i = 0; i < 20; i++) {
+            object.add("key" + i, i);
+        }
+        assertThat(object.getInt("key19")).isEqualTo(19);
+        assertThat(keys(object)).hasSize(20).startsWith("key0");
+        assertThatIllegalArgumentException().isThrownBy(() -> Json.object(-1));
+    }
+
+    private static List<String> keys(JsonValue object) {
+        List<String> keys = new ArrayList<>();
+        for (Map.Entry<String, JsonValue> entry : object.asObject()) {
+            keys.add(entry.getKey());
+        }
+        return keys;
+    }
+
 }
@@ -0,0 +1,210 @@
+package be.twofold.tinyjson;
+
+import org.junit.jupiter.api.*;
+
+import java.io.*;
+import java.math.*;
+import java.nio.*;
+import java.nio.charset.*;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class JsonWriterTest {
+
+    private final StringWriter out = new StringWriter();
+    private final JsonWriter writer = new JsonWriter(out);
+
+    @Test
+    public void testWriteTree() throws IOException {
+        JsonValue value = Json.parse("{\"a\": [1, 2.5, \"x\\n\", true, null, {}], \"b\": {\"c\": []}}");
+
+        writer.write(value);
+
+        assertThat(Json.parse(out.toString())).isEqualTo(value);
+    }
+
+    @Test
+    public void testStreaming() throws IOException {
+        writer.beginObject()
+            .name("id").value(42)
+            .name("name").value("John \"Doe\"")
+            .name("score").value(1.5)
+            .name("tags").beginArray().value("a").value(true).nullValue().value((String) null).endArray()
+            .name("empty").beginObject().endObject()
+            .name("tree").value(Json.array().add(1))
+            .endObject();
+
+        assertThat(out.toString()).isEqualTo("{\"id\":42,\"name\":\"John \\\"Doe\\\"\",\"score\":1.5," +
+            "\"tags\":[\"a\",true,null,null],\"empty\":{},\"tree\":[1]}");
+    }
+
+    @Test
+    public void testNesting() throws IOException {
+        writer.beginArray().beginArray().endArray().beginObject().name("a").beginArray().value(1).endArray().endObject().endArray();
+
+        assertThat(out.toString()).isEqualTo("[[],{\"a\":[1]}]");
+    }
+
+    @Test
+    public void testInvalidState() throws IOException {
+        assertThatIllegalStateException().isThrownBy(writer::endArray);
+        assertThatIllegalStateException().isThrownBy(() -> writer.name("a"));
+
+        writer.beginObject();
+        assertThatIllegalStateException().isThrownBy(() -> writer.value(1));
+        assertThatIllegalStateException().isThrownBy(writer::endArray);
+        writer.name("a");
+        assertThatIllegalStateException().isThrownBy(() -> writer.name("b"));
+        assertThatIllegalStateException().isThrownBy(writer::endObject);
+        writer.value(1).endObject();
+
+        assertThatIllegalStateException().isThrownBy(() -> writer.value(2));
+    }
+
+    @Test
+    public void testNumbers() throws IOException {
+        writer.beginArray()
+            .value(Long.MIN_VALUE)
+            .value(0.1)
+            .value(2.0)
+            .value(1.0E20)
+            .value(0x1p63)
+            .value(1.5f)
+            .value(new BigDecimal("1.10E+400"))
+            .value(Json.parse("1.50"))
+            .endArray();
+
+        assertThat(out.toString()).isEqualTo("[-9223372036854775808,0.1,2,1.0E20,9.223372036854776E18,1.5,1.10E+400,1.50]");
+    }
+
+    @Test
+    public void testNonFinite() throws IOException {
+        assertThatIllegalStateException().isThrownBy(() -> writer.value(Double.NaN));
+
+        // a rejected value leaves the writer as it was
+        writer.beginArray().value(1);
+        assertThatIllegalStateException().isThrownBy(() -> writer.value(Double.POSITIVE_INFINITY));
+        assertThatIllegalStateException().isThrownBy(() -> writer.value((Number) Float.NaN));
+        writer.value(2).endArray();
+        assertThat(out.toString()).isEqualTo("[1,2]");
+        assertThat(Json.parse(out.toString())).isEqualTo(Json.arrayOf(1, 2));
+    }
+
+    @Test
+    public void testNonFiniteInTree() throws IOException {
+        JsonValue value = Json.array().add(1).add(Json.object().add("a", "b").add("c", Double.NaN));
+        writer.beginArray().value(1);
+        assertThatIllegalStateException().isThrownBy(() -> writer.value(value));
+        assertThatIllegalStateException().isThrownBy(() -> writer.write(Json.arrayOf(2, Float.POSITIVE_INFINITY)));
+        writer.value(Json.array().add(new BigDecimal("1e400"))).endArray();
+        assertThat(out.toString()).isEqualTo("[1,[1E+400]]");
+    }
+
+    @Test
+    public void testSingleDocument() throws IOException {
+        // write() starts a new document every time, as it always did, only the streaming API is held to one
+        writer.write(Json.arrayOf(1));
+        writer.write(Json.string("a"));
+        assertThat(out.toString()).isEqualTo("[1]\"a\"");
+
+        assertThatIllegalStateException().isThrownBy(() -> writer.value(2))
+            .withMessage("Not a single JSON document");
+        assertThatIllegalStateException().isThrownBy(() -> writer.beginArray());
+        assertThat(out.toString()).isEqualTo("[1]\"a\"");
+    }
+
+    @Test
+    public void testEscapes() throws IOException {
+        writer.value("a\"b\\c\u0001d\u00e9\u4e2d\ud83d\ude00\t");
+
+        assertThat(out.toString()).isEqualTo("\"a\\\"b\\\\c\\u0001d\u00e9\u4e2d\ud83d\ude00\\t\"");
+    }
+
+    @Test
+    public void testLongStrings() throws IOException {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 20000; i++) {
+            builder.append(i % 100 == 0 ? '\n' : (char) ('a' + i % 26));
+        }
+        String value = builder.toString();
+
+        writer.beginArray().value(value).value(value.replace('\n', 'x')).endArray();
+
+        JsonArray array = Json.parse(out.toString()).asArray();
+        assertThat(array.get(0).asString()).isEqualTo(value);
+        assertThat(array.get(1).asString()).isEqualTo(value.replace('\n', 'x'));
+    }
+
+    @Test
+    public void testBuffersUntilTopLevelValueIsComplete() throws IOException {
+        writer.beginArray().value("a");
+        assertThat(out.toString()).isEmpty();
+
+        writer.flush();
+        assertThat(out.toString()).isEqualTo("[\"a\"");
+
+        writer.value(1).endArray();
+        assertThat(out.toString()).isEqualTo("[\"a\",1]");
+    }
+
+    @Test
+    public void testLines() throws IOException {
+        writer.lines(true);
+        writer.write(Json.parse("{\"a\":[1,2]}"));
+        writer.beginObject().name("b").value(true).endObject();
+        writer.value("c");
+        assertThat(out.toString()).isEmpty();
+
+        writer.flush();
+        assertThat(out.toString()).isEqualTo("{\"a\":[1,2]}\n{\"b\":true}\n\"c\"\n");
+    }
+
+    @Test
+    public void testUtf8MatchesCharOutput() throws IOException {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 20000; i++) {
+            builder.append(i % 7 == 0 ? "\u00e9\u4e2d\ud83d\ude00\"\n" : "abc");
+        }
+        JsonValue value = Json.array().add(builder.toString()).add(Json.object().add("\u00fc", 1.5)).add(true).add(Json.Null);
+        writer.write(value);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        new JsonWriter(bytes).write(value);
+
+        assertThat(new String(bytes.toByteArray(), StandardCharsets.UTF_8)).isEqualTo(out.toString());
+    }
+
+    @Test
+    public void testEscapesUnpairedSurrogates() throws IOException {
+        String value = "a\ud800b\udc00\ud83d\ude00\ude00\ud83d";
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        new JsonWriter(bytes).value(value);
+        writer.value(value);
+
+        String expected = "\"a\\ud800b\\udc00\ud83d\ude00\\ude00\\ud83d\"";
+        assertThat(new String(bytes.toByteArray(), StandardCharsets.UTF_8)).isEqualTo(expected);
+        assertThat(out.toString()).isEqualTo(expected);
+        assertThat(Json.parse(expected).asString()).isEqualTo(value);
+    }
+
+    @Test
+    public void testByteBuffer() throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+        new JsonWriter(buffer).beginObject().name("a").value("\u20ac").endObject();
+
+        buffer.flip();
+        assertThat(StandardCharsets.UTF_8.decode(buffer).toString()).isEqualTo("{\"a\":\"\u20ac\"}");
+    }
+
+    @Test
+    public void testByteBufferOverflow() throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(8);
+        JsonWriter writer = new JsonWriter(buffer);
+
+        assertThatIOException()
+            .isThrownBy(() -> writer.value("too long for the buffer"))
+            .withMessage("Buffer overflow, 25 bytes to write with 8 remaining");
+        assertThat(buffer.position()).isZero();
+    }
+
+}
@@ -0,0 +1,90 @@
+package be.twofold.tinyjson;
+
+import org.junit.jupiter.api.*;
+
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class NumbersTest {
+
+    private final char[] out = new char[Numbers.MaxLength];
+
+    @Test
+    public void testWriteLong() {
+        long[] values = {0, 1, -1, 9, 10, -10, 99, 100, 123456789, Integer.MIN_VALUE, Long.MIN_VALUE, Long.MAX_VALUE};
+        for (long value : values) {
+            assertThat(writeLong(value)).isEqualTo(Long.toString(value));
+        }
+
+        Random random = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+            long value = random.nextLong() >> random.nextInt(64);
+            assertThat(writeLong(value)).isEqualTo(Long.toString(value));
+        }
+    }
+
+    @Test
+    public void testWriteDouble() {
+        assertThat(writeDouble(1.5)).isEqualTo("1.5");
+        assertThat(writeDouble(-100.25)).isEqualTo("-100.25");
+        assertThat(writeDouble(0.1)).isEqualTo("0.1");
+        assertThat(writeDouble(0.001)).isEqualTo("0.001");
+        assertThat(writeDouble(1.0E-4)).isEqualTo("1.0E-4");
+        assertThat(writeDouble(1234567.5)).isEqualTo("1234567.5");
+        assertThat(writeDouble(1000.0)).isEqualTo("1000.0");
+        assertThat(writeDouble(1.0E7)).isEqualTo("1.0E7");
+        assertThat(writeDouble(1.2345678E7)).isEqualTo("1.2345678E7");
+        assertThat(writeDouble(0.0)).isEqualTo("0.0");
+        assertThat(writeDouble(-0.0)).isEqualTo("-0.0");
+        assertThat(writeDouble(Double.MIN_VALUE)).isEqualTo("4.9E-324");
+        assertThat(writeDouble(Double.MIN_NORMAL)).isEqualTo("2.2250738585072014E-308");
+        assertThat(writeDouble(Double.MAX_VALUE)).isEqualTo("1.7976931348623157E308");
+    }
+
+    @Test
+    public void testWriteDoubleIsShortest() {
+        // older JDKs print these with more digits than needed
+        assertThat(writeDouble(2.82879384806159E17)).isEqualTo("2.82879384806159E17");
+        assertThat(writeDouble(1.0E23)).isEqualTo("1.0E23");
+        assertThat(writeDouble(2.0E-3)).isEqualTo("0.002");
+    }
+
+    @Test
+    public void testWriteDoubleRoundTrips() {
+        Random random = new Random(42);
+        for (int i = 0; i < 200_000; i++) {
+            double value = Double.longBitsToDouble(random.nextLong());
+            if (!Double.isFinite(value)) {
+                continue;
+            }
+            String actual = writeDouble(value);
+            assertThat(Double.parseDouble(actual)).isEqualTo(value);
+            assertThat(digits(actual)).isLessThanOrEqualTo(digits(Double.toString(value)));
+        }
+    }
+
+    @Test
+    public void testIsJsonNumber() {
+        for (String s : Arrays.asList("0", "-0", "1", "-12", "1.5", "0.25", "1e5", "1E+5", "-1.5e-10")) {
+            assertThat(Numbers.isJsonNumber(s)).as(s).isTrue();
+        }
+        for (String s : Arrays.asList("", "-", "01", "1.", ".5", "1e", "1e+", "+1", "NaN", "Infinity", "0x10", "1 ")) {
+            assertThat(Numbers.isJsonNumber(s)).as(s).isFalse();
+        }
+    }
+
+    private String writeLong(long value) {
+        return new String(out, 0, Numbers.writeLong(value, out, 0));
+    }
+
+    private String writeDouble(double value) {
+        return new String(out, 0, Numbers.writeDouble(value, out, 0));
+    }
+
+    private static int digits(String s) {
+        String significand = s.split("E")[0].replace("-", "").replace(".", "");
+        return significand.replaceAll("^0+", "").replaceAll("0+$", "").length();
+    }
+
+}
@@ -0,0 +1,412 @@
+package be.twofold.tinyjson.bind;
+
+import be.twofold.tinyjson.*;
+import be.twofold.tinyjson.read.*;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.condition.*;
+import org.junit.jupiter.api.io.*;
+
+import java.io.*;
+import java.lang.reflect.*;
+import java.math.*;
+import java.net.*;
+import java.nio.charset.*;
+import java.nio.file.*;
+import java.util.*;
+
+import javax.tools.*;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class JsonBinderTest {
+
+    private final JsonBinder binder = new JsonBinder();
+
+    @Test
+    public void testScalars() {
+        assertThat(binder.serialize(42)).isEqualTo(Json.number(42));
+        assertThat(binder.serialize(true)).isEqualTo(Json.bool(true));
+        assertThat(binder.serialize("foo")).isEqualTo(Json.string("foo"));
+        assertThat(binder.serialize('c')).isEqualTo(Json.string("c"));
+        assertThat(binder.serialize(null)).isEqualTo(Json.Null);
+
+        assertThat(binder.deserialize(Json.parse("42"), int.class)).isEqualTo(42);
+        assertThat(binder.deserialize(Json.parse("42"), Long.class)).isEqualTo(42L);
+        assertThat(binder.deserialize(Json.parse("1.5"), double.class)).isEqualTo(1.5);
+        assertThat(binder.deserialize(Json.parse("\"c\""), char.class)).isEqualTo('c');
+        assertThat(binder.deserialize(Json.parse("12345678901234567890"), BigInteger.class))
+            .isEqualTo(new BigInteger("12345678901234567890"));
+        assertThat(binder.deserialize(Json.parse("0.1"), BigDecimal.class)).isEqualTo(new BigDecimal("0.1"));
+        assertThat(binder.deserialize(Json.parse("1.5e3"), BigInteger.class)).isEqualTo(BigInteger.valueOf(1500));
+        assertThatExceptionOfType(JsonException.class)
+            .isThrownBy(() -> binder.deserialize(Json.parse("1e99999999"), BigInteger.class))
+            .withMessage("Integer is longer than 1000 digits");
+        assertThatExceptionOfType(JsonException.class)
+            .isThrownBy(() -> binder.deserialize(new JsonReader(new StringReader("1e99999999")), BigInteger.class))
+            .withMessage("Integer is longer than 1000 digits");
+        assertThatExceptionOfType(JsonException.class)
+            .isThrownBy(() -> binder.deserialize(Json.parse("0.5"), BigInteger.class));
+        assertThat(binder.deserialize(Json.Null, Integer.class)).isNull();
+        assertThatExceptionOfType(JsonException.class)
+            .isThrownBy(() -> binder.deserialize(Json.Null, int.class))
+            .withMessage("Cannot bind null to int");
+    }
+
+    @Test
+    public void testObject() {
+        Person person = new Person();
+        person.name = "John Doe";
+        person.age = 42;
+        person.role = Role.Admin;
+        person.tags = Arrays.asList("a", "b");
+        person.address = new Address();
+        person.address.city = "Brussels";
+        person.scores = new int[]{1, 2, 3};
+        person.extra = Json.object().add("x", 1);
+
+        JsonValue json = binder.serialize(person);
+        assertThat(json).isEqualTo(Json.parse("{" +
+            "\"name\":\"John Doe\",\"age\":42,\"role\":\"Admin\",\"tags\":[\"a\",\"b\"]," +
+            "\"address\":{\"city\":\"Brussels\"},\"scores\":[1,2,3],\"friends\":null,\"extra\":{\"x\":1}" +
+            "}"));
+
+        Person copy = binder.deserialize(json, Person.class);
+        assertThat(copy.name).isEqualTo("John Doe");
+        assertThat(copy.age).isEqualTo(42);
+        assertThat(copy.role).isEqualTo(Role.Admin);
+        assertThat(copy.tags).containsExactly("a", "b");
+        assertThat(copy.address.city).isEqualTo("Brussels");
+        assertThat(copy.scores).containsExactly(1, 2, 3);
+        assertThat(copy.friends).isNull();
+        assertThat(copy.extra).isEqualTo(person.extra);
+        assertThat(copy.cache).isEqualTo("initial");
+    }
+
+    @Test
+    public void testMissingAndUnknownFields() {
+        Person person = binder.deserialize(Json.parse("{\"name\":\"Jane\",\"unknown\":true}"), Person.class);
+        assertThat(person.name).isEqualTo("Jane");
+        assertThat(person.age).isZero();
+        assertThat(person.cache).isEqualTo("initial");
+    }
+
+    @Test
+    public void testRecursiveType() {
+        JsonValue json = Json.parse("{\"name\":\"a\",\"friends\":{\"b\":{\"name\":\"b\",\"friends\":{}}}}");
+
+        Person person = binder.deserialize(json, Person.class);
+        assertThat(person.friends.get("b").name).isEqualTo("b");
+        assertThat(person.friends.get("b").friends).isEmpty();
+        assertThat(binder.serialize(person).asObject().get("friends").asObject().get("b").asObject().getString("name"))
+            .isEqualTo("b");
+    }
+
+    @Test
+    public void testGenericTypes() throws Exception {
+        Type type = Holder.class.getDeclaredField("values").getGenericType();
+        Map<Role, List<Integer>> values = binder.deserialize(Json.parse("{\"User\":[1,2],\"Admin\":[]}"), type);
+        assertThat(values).containsOnlyKeys(Role.User, Role.Admin);
+        assertThat(values.get(Role.User)).containsExactly(1, 2);
+
+        Holder holder = binder.deserialize(Json.parse("{\"values\":{\"User\":[3]},\"set\":[\"x\",\"x\"],\"untyped\":[1,2.5,{\"a\":null}]}"), Holder.class);
+        assertThat(holder.values.get(Role.User)).containsExactly(3);
+        assertThat(holder.set).isInstanceOf(TreeSet.class).containsExactly("x");
+        assertThat(holder.untyped).isEqualTo(Arrays.asList(1L, 2.5, Collections.singletonMap("a", null)));
+    }
+
+    @Test
+    public void testSubclassUsesRuntimeType() {
+        Holder holder = new Holder();
+        holder.untyped = new Address();
+        ((Address) holder.untyped).city = "Ghent";
+        assertThat(binder.serialize(holder).asObject().get("untyped")).isEqualTo(Json.parse("{\"city\":\"Ghent\"}"));
+        assertThat(binder.serialize(Role.Guest)).isEqualTo(Json.string("Guest"));
+    }
+
+    @Test
+    public void testCustomCodecs() {
+        JsonBinder custom = binder
+            .withSerializer(Address.class, (address, context) -> Json.string(address.city))
+            .withDeserializer(Address.class, (value, context) -> {
+                Address address = new Address();
+                address.city = value.asString();
+                return address;
+            });
+
+        Person person = new Person();
+        person.address = new Address();
+        person.address.city = "Antwerp";
+        JsonValue json = custom.serialize(person);
+        assertThat(json.asObject().get("address")).isEqualTo(Json.string("Antwerp"));
+        assertThat(custom.deserialize(json, Person.class).address.city).isEqualTo("Antwerp");
+
+        // the original binder is not affected
+        assertThat(binder.serialize(person).asObject().get("address").isObject()).isTrue();
+    }
+
+    @Test
+    public void testCodec() throws Exception {
+        JsonBinder custom = binder.withCodec(new JsonCodec<Address>() {
+            @Override
+            public Class<Address> type() {
+                return Address.class;
+            }
+
+            @Override
+            public JsonValue serialize(Address address, JsonSerializationContext context) {
+                return Json.string(address.city);
+            }
+
+            @Override
+            public Address deserialize(JsonValue value, JsonDeserializationContext context) {
+                Address address = new Address();
+                address.city = value.asString();
+                return address;
+            }
+        });
+
+        Address address = new Address();
+        address.city = "Mechelen";
+        assertThat(custom.serialize(address)).isEqualTo(Json.string("Mechelen"));
+        assertThat(custom.deserialize(Json.string("Mechelen"), Address.class).city).isEqualTo("Mechelen");
+
+        // a hand built type finds the same binding as the one from reflection
+        Type type = Holder.class.getDeclaredField("values").getGenericType();
+        Type generic = GenericType.of(Map.class, Role.class, GenericType.of(List.class, Integer.class));
+        assertThat(generic).isEqualTo(type).hasSameHashCodeAs(type);
+        assertThat(type).isEqualTo(generic);
+        Map<Role, List<Integer>> values = binder.deserialize(Json.parse("{\"Guest\":[1]}"), generic);
+        assertThat(values.get(Role.Guest)).containsExactly(1);
+        assertThatIllegalArgumentException()
+            .isThrownBy(() -> GenericType.of(Map.class, String.class));
+    }
+
+    @Test
+    public void testContextLookup() {
+        JsonBinder custom = binder.withDeserializer(Address.class, (value, context) -> {
+            Address address = new Address();
+            address.city = context.deserialize(value.asArray().get(0), String.class);
+            return address;
+        });
+        Address[] addresses = custom.deserialize(Json.parse("[[\"Leuven\"],null]"), Address[].class);
+        assertThat(addresses[0].city).isEqualTo("Leuven");
+        assertThat(addresses[1]).isNull();
+    }
+
+    @Test
+    public void testStreaming() throws IOException {
+        Person person = new Person();
+        person.name = "John Doe";
+        person.age = 42;
+        person.role = Role.Guest;
+        person.tags = Arrays.asList("a", null);
+        person.scores = new int[]{1, 2, 3, 4, 5, 6, 7, 8, 9};
+        person.friends = Collections.singletonMap("b", new Person());
+        person.extra = Json.Null;
+
+        StringWriter out = new StringWriter();
+        binder.serialize(person, new JsonWriter(out));
+        assertThat(Json.parse(out.toString())).isEqualTo(binder.serialize(person));
+
+        Person copy = binder.deserialize(new JsonReader(new StringReader(out.toString())), Person.class);
+        assertThat(copy.name).isEqualTo("John Doe");
+        assertThat(copy.age).isEqualTo(42);
+        assertThat(copy.role).isEqualTo(Role.Guest);
+        assertThat(copy.tags).containsExactly("a", null);
+        assertThat(copy.scores).containsExactly(1, 2, 3, 4, 5, 6, 7, 8, 9);
+        assertThat(copy.friends.get("b").age).isZero();
+        assertThat(copy.extra).isEqualTo(Json.Null);
+    }
+
+    @Test
+    public void testStreamingFieldOrder() {
+        String json = "{\"extra\":[1],\"unknown\":{\"a\":[]},\"age\":7,\"name\":\"x\",\"role\":null}";
+        Person person = binder.deserialize(new JsonReader(new StringReader(json)), Person.class);
+        assertThat(person.name).isEqualTo("x");
+        assertThat(person.age).isEqualTo(7);
+        assertThat(person.role).isNull();
+        assertThat(person.extra).isEqualTo(Json.parse("[1]"));
+
+        Holder holder = binder.deserialize(new JsonReader(new StringReader("{\"untyped\":{\"a\":[1,2.5,\"s\",true,null]}}")), Holder.class);
+        assertThat(holder.untyped).isEqualTo(Collections.singletonMap("a", Arrays.asList(1L, 2.5, "s", true, null)));
+
+        assertThatExceptionOfType(JsonException.class)
+            .isThrownBy(() -> binder.deserialize(new JsonReader(new StringReader("{\"age\":null}")), Person.class))
+            .withMessage("Cannot bind null to int");
+    }
+
+    @Test
+    public void testStreamingCustomCodecs() throws IOException {
+        // custom codecs that only implement the tree methods still work when streaming
+        JsonBinder custom = binder
+            .withSerializer(Address.class, (address, context) -> Json.string(address.city))
+            .withDeserializer(Address.class, (value, context) -> {
+                Address address = new Address();
+                address.city = value.asString();
+                return address;
+            });
+
+        Person person = new Person();
+        person.address = new Address();
+        person.address.city = "Antwerp";
+        StringWriter out = new StringWriter();
+        custom.serialize(person, new JsonWriter(out));
+        assertThat(out.toString()).contains("\"address\":\"Antwerp\"");
+        assertThat(custom.deserialize(new JsonReader(new StringReader(out.toString())), Person.class).address.city)
+            .isEqualTo("Antwerp");
+    }
+
+    @Test
+    public void testPolymorphic() throws IOException {
+        Circle circle = new Circle();
+        circle.radius = 1.5;
+        Square square = new Square();
+        square.side = 2.5;
+        Drawing drawing = new Drawing();
+        drawing.shapes = Arrays.asList(circle, square);
+
+        JsonValue expected = Json.parse("{\"shapes\":[{\"kind\":\"circle\",\"radius\":1.5},{\"kind\":\"Square\",\"side\":2.5}]}");
+        assertThat(binder.serialize(drawing)).isEqualTo(expected);
+        StringWriter out = new StringWriter();
+        binder.serialize(drawing, new JsonWriter(out));
+        assertThat(Json.parse(out.toString())).isEqualTo(expected);
+
+        Drawing fromTree = binder.deserialize(expected, Drawing.class);
+        Drawing fromStream = binder.deserialize(new JsonReader(new StringReader(out.toString())), Drawing.class);
+        for (Drawing copy : Arrays.asList(fromTree, fromStream)) {
+            assertThat(copy.shapes).hasSize(2);
+            assertThat(((Circle) copy.shapes.get(0)).radius).isEqualTo(1.5);
+            assertThat(((Square) copy.shapes.get(1)).side).isEqualTo(2.5);
+        }
+
+        // the discriminator doesn't have to come first
+        Shape shape = binder.deserialize(new JsonReader(new StringReader("{\"side\":3,\"kind\":\"Square\"}")), Shape.class);
+        assertThat(((Square) shape).side).isEqualTo(3.0);
+
+        assertThatExceptionOfType(JsonException.class)
+            .isThrownBy(() -> binder.deserialize(Json.parse("{\"kind\":\"Triangle\"}"), Shape.class))
+            .withMessage("Unknown kind Triangle for " + Shape.class.getName());
+        assertThatExceptionOfType(JsonException.class)
+            .isThrownBy(() -> binder.deserialize(new JsonReader(new StringReader("{\"side\":3}")), Shape.class))
+            .withMessage("Missing kind for " + Shape.class.getName());
+    }
+
+    @Test
+    @EnabledForJreRange(min = JRE.JAVA_17)
+    public void testRecordsAndSealedTypes(@TempDir Path output) throws Exception {
+        String source = String.join("\n",
+            "package records;",
+            "",
+            "import java.util.*;",
+            "",
+            "public sealed interface Shape permits Shape.Circle, Shape.Rectangle, Shape.Group {",
+            "    record Circle(double radius) implements Shape {}",
+            "    record Rectangle(int width, int height, String label) implements Shape {}",
+            "    record Group(List<Shape> shapes) implements Shape {}",
+            "}");
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        try (StandardJavaFileManager files = compiler.getStandardFileManager(null, null, StandardCharsets.UTF_8)) {
+            files.setLocation(StandardLocation.CLASS_OUTPUT, Collections.singletonList(output.toFile()));
+            JavaFileObject unit = new SimpleJavaFileObject(URI.create("string:///records/Shape.java"), JavaFileObject.Kind.SOURCE) {
+                @Override
+                public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                    return source;
+                }
+            };
+            assertThat(compiler.getTask(null, files, null, null, null, Collections.singletonList(unit)).call()).isTrue();
+        }
+
+        try (URLClassLoader loader = new URLClassLoader(new URL[]{output.toUri().toURL()}, getClass().getClassLoader())) {
+            Class<?> type = loader.loadClass("records.Shape");
+            String json = "{\"type\":\"Group\",\"shapes\":[{\"type\":\"Circle\",\"radius\":1.5}," +
+                "{\"type\":\"Rectangle\",\"width\":2,\"height\":3,\"label\":\"r\"}]}";
+
+            Object fromTree = binder.deserialize(Json.parse(json), type);
+            Object fromStream = binder.deserialize(new JsonReader(new StringReader(json)), type);
+            for (Object group : Arrays.asList(fromTree, fromStream)) {
+                assertThat(group).hasToString("Group[shapes=[Circle[radius=1.5], Rectangle[width=2, height=3, label=r]]]");
+                assertThat(binder.serialize(group)).isEqualTo(Json.parse(json));
+                StringWriter out = new StringWriter();
+                binder.serialize(group, new JsonWriter(out));
+                assertThat(out.toString()).isEqualTo(json);
+            }
+
+            // missing components get their default value
+            assertThat(binder.deserialize(new JsonReader(new StringReader("{\"type\":\"Rectangle\",\"label\":\"x\"}")), type))
+                .hasToString("Rectangle[width=0, height=0, label=x]");
+        }
+    }
+
+    @Test
+    public void testErrors() {
+        assertThatExceptionOfType(JsonException.class)
+            .isThrownBy(() -> binder.deserialize(Json.string("Root"), Role.class))
+            .withMessageContaining("Unknown constant Root");
+        assertThatExceptionOfType(JsonException.class)
+            .isThrownBy(() -> binder.deserialize(Json.object(), NoDefaultConstructor.class))
+            .withMessageContaining("without a no-arg constructor");
+        assertThatExceptionOfType(JsonException.class)
+            .isThrownBy(() -> binder.deserialize(Json.object(), Runnable.class));
+        assertThatIllegalStateException()
+            .isThrownBy(() -> binder.deserialize(Json.array(), Person.class));
+    }
+
+    enum Role {
+        User,
+        Admin,
+        Guest {
+            @Override
+            public String toString() {
+                return "guest";
+            }
+        },
+    }
+
+    static class Address {
+        String city;
+    }
+
+    static class Person {
+        String name;
+        int age;
+        Role role;
+        List<String> tags;
+        Address address;
+        int[] scores;
+        Map<String, Person> friends;
+        JsonValue extra;
+        transient String cache = "initial";
+    }
+
+    static class Holder {
+        Map<Role, List<Integer>> values;
+        SortedSet<String> set;
+        Object untyped;
+    }
+
+    @Discriminator(value = "kind", subtypes = {Circle.class, Square.class})
+    interface Shape {
+    }
+
+    @DiscriminatorValue("circle")
+    static class Circle implements Shape {
+        double radius;
+    }
+
+    static class Square implements Shape {
+        double side;
+    }
+
+    static class Drawing {
+        List<Shape> shapes;
+    }
+
+    static class NoDefaultConstructor {
+        final int value;
+
+        NoDefaultConstructor(int value) {
+            this.value = value;
+        }
+    }
+
+}
@@ -1,12 +1,15 @@
 package be.twofold.tinyjson.read;
 
 import be.twofold.tinyjson.*;
+import org.junit.jupiter.api.*;
 import org.junit.jupiter.params.*;
 import org.junit.jupiter.params.provider.*;
 
 import java.io.*;
+import java.nio.charset.*;
 import java.nio.file.*;
 import java.util.*;
+import java.util.function.*;
 import java.util.stream.*;
 
 import static org.assertj.core.api.Assertions.*;
@@ -25,35 +28,150 @@ public class JsonParserTest {
     @ParameterizedTest
     @MethodSource("getFileNames")
     public void test(String filename) {
+        test(filename, JsonParserTest::parseFile);
+    }
+
+    @ParameterizedTest
+    @MethodSource("getFileNames")
+    public void testBytes(String filename) {
+        test(filename, JsonParserTest::parseBytes);
+    }
+
+    @ParameterizedTest
+    @MethodSource("getFileNames")
+    public void testPath(String filename) {
+        test(filename, name -> Json.parse(Root.resolve(name)));
+    }
+
+    @ParameterizedTest
+    @MethodSource("getFileNames")
+    public void testInternKeys(String filename) {
+        test(filename, name -> {
+            try {
+                byte[] bytes = Files.readAllBytes(Root.resolve(name));
+                JsonValue value = new JsonParser(bytes, 0, bytes.length).internKeys(true).parse();
+                assertThat(value).isEqualTo(Json.parse(bytes));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    @Test
+    public void testInternedKeysAreShared() {
+        String json = "[{\"id\": 1, \"n\\u0061me\": 2}, {\"id\": 3, \"name\": 4}]";
+        JsonArray array = new JsonParser(new StringReader(json)).internKeys(true).parse().asArray();
+        assertThat(key(array.get(0), "id")).isSameAs(key(array.get(1), "id"));
+
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        JsonArray fromBytes = new JsonParser(bytes, 0, bytes.length).internKeys(true).parse().asArray();
+        assertThat(key(fromBytes.get(0), "id")).isSameAs(key(fromBytes.get(1), "id"));
+        assertThat(fromBytes).isEqualTo(array).isEqualTo(Json.parse(json));
+    }
+
+    @Test
+    public void testDeepNesting() {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 100_000; i++) {
+            builder.append(i % 2 == 0 ? "[" : "{\"a\":");
+        }
+        builder.append("1");
+        for (int i = 100_000 - 1; i >= 0; i--) {
+            builder.append(i % 2 == 0 ? "]" : "}");
+        }
+        String json = builder.toString();
+
+        JsonValue value = new JsonParser(new StringReader(json)).options(ParserOptions.Default.withMaxDepth(100_000)).parse();
+        for (int i = 0; i < 100_000; i++) {
+            value = i % 2 == 0 ? value.asArray().get(0) : value.asObject().get("a");
+        }
+        assertThat(value).isEqualTo(Json.number(1));
+
+        assertThatExceptionOfType(JsonException.class)
+            .isThrownBy(() -> new JsonParser(new StringReader(json)).options(ParserOptions.Default.withMaxDepth(99_999)).parse())
+            .withMessage("Maximum depth of 99999 exceeded");
+        assertThatExceptionOfType(JsonException.class)
+            .isThrownBy(() -> Json.parse(json))
+            .withMessage("Maximum depth of 1000 exceeded");
+    }
+
+    @Test
+    public void testReset() {
+        byte[] bytes = "[1, {\"a\": \"b\"}]".getBytes(StandardCharsets.UTF_8);
+        JsonValue expected = Json.array().add(1).add(Json.object().add("a", "b"));
+
+        JsonParser parser = new JsonParser(new StringReader("{\"a\": [1, 2"))
+            .options(ParserOptions.Default.withMaxDepth(2));
+        assertThatExceptionOfType(JsonException.class).isThrownBy(parser::parse);
+
+        assertThat(parser.reset(new StringReader("[1, {\"a\": \"b\"}]")).parse()).isEqualTo(expected);
+        assertThat(parser.reset(bytes, 0, bytes.length).parse()).isEqualTo(expected);
+        assertThat(parser.reset(new ByteArrayInputStream(bytes)).parse()).isEqualTo(expected);
+        assertThat(parser.reset(new StringReader("\"x\"")).parse()).isEqualTo(Json.string("x"));
+        assertThatExceptionOfType(JsonException.class)
+            .isThrownBy(() -> parser.reset(new StringReader("[[[1]]]")).parse())
+            .withMessage("Maximum depth of 2 exceeded");
+    }
+
+    @Test
+    public void testNumericArraysKeepInexactNumbers() throws IOException {
+        for (String number : new String[]{"9999999999999999999", "1e-400", "1e400", "0.10000000000000001", "4.9e-324"}) {
+            String json = "[0.5, " + number + "]";
+            JsonValue element = Json.parse(json).asArray().get(1);
+            assertThat(element).as(number).isEqualTo(Json.parse(number));
+            assertThat(element.fitsInLong()).as(number).isFalse();
+            assertThat(write(Json.parse(json))).as(number).isEqualTo("[0.5," + number + "]");
+            assertThat(write(Json.parse("[" + number + "]"))).as(number).isEqualTo("[" + number + "]");
+        }
+        assertThat(Json.parse("[9999999999999999999]").asArray().get(0).asNumber().toString()).isEqualTo("9999999999999999999");
+        assertThat(write(Json.parse("[0, 1.5, -2.25e10, 1e-300]"))).isEqualTo("[0,1.5,-22500000000,1.0E-300]");
+    }
+
+    private static String write(JsonValue value) throws IOException {
+        StringWriter out = new StringWriter();
+        new JsonWriter(out).write(value);
+        return out.toString();
+    }
+
+    private static String key(JsonValue object, String name) {
+        for (Map.Entry<String, JsonValue> entry : object.asObject()) {
+            if (entry.getKey().equals(name)) {
+                return entry.getKey();
+            }
+        }
+        throw new NoSuchElementException(name);
+    }
+
+    private void test(String filename, Consumer<String> parser) {
         String type = filename.substring(0, 2);
         switch (type) {
             case "i_":
-                testUndetermined(filename);
+                testUndetermined(filename, parser);
                 break;
             case "n_":
-                testForFailure(filename);
+                testForFailure(filename, parser);
                 break;
             case "y_":
-                testForSuccess(filename);
+                testForSuccess(filename, parser);
                 break;
             default:
                 throw new UnsupportedOperationException();
         }
     }
 
-    private void testForFailure(String filename) {
+    private void testForFailure(String filename, Consumer<String> parser) {
         assertThatExceptionOfType(JsonException.class)
-            .isThrownBy(() -> parseFile(filename));
+            .isThrownBy(() -> parser.accept(filename));
     }
 
-    private void testForSuccess(String filename) {
-        assertThatCode(() -> parseFile(filename))
+    private void testForSuccess(String filename, Consumer<String> parser) {
+        assertThatCode(() -> parser.accept(filename))
             .doesNotThrowAnyException();
     }
 
-    private void testUndetermined(String filename) {
+    private void testUndetermined(String filename, Consumer<String> parser) {
         try {
-            parseFile(filename);
+            parser.accept(filename);
         } catch (JsonException e) {
             System.err.println("F -- " + filename + " -- " + getRootCause(e).getClass().getSimpleName());
         }
@@ -68,6 +186,14 @@ public class JsonParserTest {
         }
     }
 
+    private static void parseBytes(String filename) {
+        try {
+            Json.parse(Files.readAllBytes(Root.resolve(filename)));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
     private static Throwable getRootCause(Throwable throwable) {
         List<Throwable> list = new ArrayList<>();
         while (throwable != null && !list.contains(throwable)) {
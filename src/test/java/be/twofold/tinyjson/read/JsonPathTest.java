@@ -0,0 +1,51 @@
+package be.twofold.tinyjson.read;
+
+import nl.jqno.equalsverifier.*;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.params.*;
+import org.junit.jupiter.params.provider.*;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class JsonPathTest {
+
+    @Test
+    public void testEqualsAndHashCode() {
+        EqualsVerifier
+            .forClass(JsonPath.class)
+            .withIgnoredFields("segments")
+            .suppress(Warning.NULL_FIELDS)
+            .verify();
+    }
+
+    @Test
+    public void testCompile() {
+        JsonPath path = JsonPath.compile("$.data[*].items[2]['a.b'][\"c\\\"d\"].*");
+
+        assertThat(path.size()).isEqualTo(7);
+        assertThat(path.matches(0, "data")).isTrue();
+        assertThat(path.matches(0, "meta")).isFalse();
+        assertThat(path.matches(1, 5)).isTrue();
+        assertThat(path.matches(2, "items")).isTrue();
+        assertThat(path.matches(3, 2)).isTrue();
+        assertThat(path.matches(3, 1)).isFalse();
+        assertThat(path.matches(4, "a.b")).isTrue();
+        assertThat(path.matches(5, "c\"d")).isTrue();
+        assertThat(path.matches(6, "anything")).isTrue();
+        assertThat(path.toString()).isEqualTo("$.data[*].items[2]['a.b'][\"c\\\"d\"].*");
+    }
+
+    @Test
+    public void testRoot() {
+        assertThat(JsonPath.compile("$").size()).isZero();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "data", "$.", "$..a", "$[", "$[]", "$[-1]", "$['a'", "$['a]", "$[1", "$a"})
+    public void testInvalid(String expression) {
+        assertThatIllegalArgumentException()
+            .isThrownBy(() -> JsonPath.compile(expression))
+            .withMessageStartingWith("Invalid path");
+    }
+
+}
@@ -0,0 +1,73 @@
+package be.twofold.tinyjson.read;
+
+import be.twofold.tinyjson.*;
+import org.junit.jupiter.api.*;
+
+import java.io.*;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class JsonProjectionTest {
+
+    private static final String Document = "{" +
+        "\"data\": [{\"id\": 1, \"tags\": [\"a\"]}, {\"id\": 2}, {\"name\": \"x\"}, 3]," +
+        "\"meta\": {\"cursor\": \"abc\", \"total\": 3}," +
+        "\"ignored\": [[{\"id\": 4}]]" +
+        "}";
+
+    @Test
+    public void testProject() {
+        Map<JsonPath, JsonArray> result = JsonProjection
+            .of("$.data[*].id", "$.meta.cursor", "$.data[0].tags[0]", "$.missing")
+            .project(reader(Document));
+
+        assertThat(result.keySet()).extracting(JsonPath::toString)
+            .containsExactly("$.data[*].id", "$.meta.cursor", "$.data[0].tags[0]", "$.missing");
+        assertThat(result.get(JsonPath.compile("$.data[*].id"))).isEqualTo(parse("[1, 2]"));
+        assertThat(result.get(JsonPath.compile("$.meta.cursor"))).isEqualTo(parse("[\"abc\"]"));
+        assertThat(result.get(JsonPath.compile("$.data[0].tags[0]"))).isEqualTo(parse("[\"a\"]"));
+        assertThat(result.get(JsonPath.compile("$.missing"))).isEqualTo(parse("[]"));
+    }
+
+    @Test
+    public void testNestedMatches() {
+        Map<JsonPath, JsonArray> result = JsonProjection
+            .of("$.meta", "$.meta.total", "$")
+            .project(reader(Document));
+
+        assertThat(result.get(JsonPath.compile("$.meta"))).isEqualTo(parse("[{\"cursor\": \"abc\", \"total\": 3}]"));
+        assertThat(result.get(JsonPath.compile("$.meta.total"))).isEqualTo(parse("[3]"));
+        assertThat(result.get(JsonPath.compile("$"))).isEqualTo(parse("[" + Document + "]"));
+    }
+
+    @Test
+    public void testLeavesReaderAfterValue() {
+        JsonReader reader = reader("[{\"a\": 1, \"b\": [2]}, {\"a\": 3}]");
+
+        reader.beginArray();
+        JsonProjection projection = JsonProjection.of("$.a");
+        assertThat(projection.project(reader).get(JsonPath.compile("$.a"))).isEqualTo(parse("[1]"));
+        assertThat(projection.project(reader).get(JsonPath.compile("$.a"))).isEqualTo(parse("[3]"));
+        reader.endArray();
+        assertThat(reader.peek()).isEqualTo(JsonTokenType.Eof);
+    }
+
+    @Test
+    public void testMalformedInput() {
+        assertThatExceptionOfType(JsonException.class)
+            .isThrownBy(() -> JsonProjection.of("$.a").project(reader("{\"a\": 1,}")));
+        assertThatExceptionOfType(JsonException.class)
+            .isThrownBy(() -> JsonProjection.of("$.a").project(reader("{\"a\": 1, \"b\": [[1}, 2]}")))
+            .withMessageStartingWith("Unexpected character '}'");
+    }
+
+    private static JsonReader reader(String json) {
+        return new JsonReader(new StringReader(json));
+    }
+
+    private static JsonValue parse(String json) {
+        return Json.parse(json);
+    }
+
+}
@@ -0,0 +1,257 @@
+package be.twofold.tinyjson.read;
+
+import be.twofold.tinyjson.*;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.params.*;
+import org.junit.jupiter.params.provider.*;
+
+import java.io.*;
+import java.nio.charset.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.stream.*;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class JsonReaderTest {
+
+    private static final Path Root = Paths.get("src/test/resources/JSONTestSuite/parsing");
+
+    public static List<String> getFileNames() throws Exception {
+        return Files.list(Root)
+            .map(path -> path.getFileName().toString())
+            .filter(name -> name.startsWith("n_") || name.startsWith("y_"))
+            .collect(Collectors.toList());
+    }
+
+    @ParameterizedTest
+    @MethodSource("getFileNames")
+    public void testSuite(String filename) throws IOException {
+        byte[] bytes = Files.readAllBytes(Root.resolve(filename));
+        if (filename.startsWith("n_")) {
+            assertThatExceptionOfType(JsonException.class)
+                .isThrownBy(() -> walkDocument(bytes));
+        } else {
+            assertThat(walkDocument(bytes)).isEqualTo(Json.parse(bytes));
+        }
+    }
+
+    @Test
+    public void testStreaming() {
+        JsonReader reader = reader("{\"id\": 42, \"name\": \"John\", \"tags\": [\"a\", \"b\"], \"ok\": true, \"parent\": null, \"score\": 1.5}");
+
+        reader.beginObject();
+        assertThat(reader.nextName()).isEqualTo("id");
+        assertThat(reader.nextLong()).isEqualTo(42L);
+        assertThat(reader.nextName()).isEqualTo("name");
+        assertThat(reader.peek()).isEqualTo(JsonTokenType.String);
+        assertThat(reader.nextString()).isEqualTo("John");
+        assertThat(reader.nextName()).isEqualTo("tags");
+        reader.beginArray();
+        assertThat(reader.hasNext()).isTrue();
+        assertThat(reader.nextString()).isEqualTo("a");
+        assertThat(reader.nextString()).isEqualTo("b");
+        assertThat(reader.hasNext()).isFalse();
+        reader.endArray();
+        assertThat(reader.nextName()).isEqualTo("ok");
+        assertThat(reader.nextBoolean()).isTrue();
+        assertThat(reader.nextName()).isEqualTo("parent");
+        reader.nextNull();
+        assertThat(reader.nextName()).isEqualTo("score");
+        assertThat(reader.nextDouble()).isEqualTo(1.5);
+        assertThat(reader.hasNext()).isFalse();
+        reader.endObject();
+        assertThat(reader.peek()).isEqualTo(JsonTokenType.Eof);
+    }
+
+    @Test
+    public void testSkipValue() {
+        JsonReader reader = reader("{\"skip\": {\"a\": [1, {\"b\": \"]\"}], \"c\": {}}, \"keep\": 1, \"last\": [[]]}");
+
+        reader.beginObject();
+        assertThat(reader.nextName()).isEqualTo("skip");
+        reader.skipValue();
+        assertThat(reader.nextName()).isEqualTo("keep");
+        assertThat(reader.nextInt()).isEqualTo(1);
+        reader.skipValue();
+        reader.skipValue();
+        reader.endObject();
+        assertThat(reader.peek()).isEqualTo(JsonTokenType.Eof);
+    }
+
+    @Test
+    public void testSkipValueAcrossBuffers() {
+        String json = "[{\"a\\\"]\": [\"\\\\\", \"\\u005d\", -1.5e+3, true, false, null, {}]}, \"kept\"]";
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+
+        for (int bufferSize = 1; bufferSize <= 8; bufferSize++) {
+            List<JsonReader> readers = Arrays.asList(
+                new JsonReader(new CharTokenizer(new StringReader(json), bufferSize)),
+                new JsonReader(new Utf8Tokenizer(new ByteArrayInputStream(bytes), bufferSize))
+            );
+            for (JsonReader reader : readers) {
+                reader.beginArray();
+                reader.skipValue();
+                assertThat(reader.nextString()).isEqualTo("kept");
+                reader.endArray();
+                assertThat(reader.peek()).isEqualTo(JsonTokenType.Eof);
+            }
+        }
+    }
+
+    @Test
+    public void testSkipValueUnbalanced() {
+        JsonReader reader = reader("[{\"a\": [1, 2]");
+
+        reader.beginArray();
+        assertThatExceptionOfType(JsonException.class)
+            .isThrownBy(reader::skipValue)
+            .withMessageStartingWith("Unexpected end of input");
+    }
+
+    @Test
+    public void testSkipValueMismatched() {
+        for (String json : new String[]{"[[1}, 2]", "[{\"a\": [1, 2}]", "{\"a\": 1]"}) {
+            JsonReader reader = reader(json);
+            assertThatExceptionOfType(JsonException.class).as(json)
+                .isThrownBy(reader::skipValue)
+                .withMessageStartingWith("Unexpected character");
+        }
+
+        // deeper than one word of brackets
+        String deep = String.join("", Collections.nCopies(100, "[{\"a\":")) + "1" + String.join("", Collections.nCopies(100, "}]"));
+        JsonReader reader = reader(deep);
+        reader.skipValue();
+        assertThat(reader.peek()).isEqualTo(JsonTokenType.Eof);
+        assertThatExceptionOfType(JsonException.class)
+            .isThrownBy(() -> reader(deep.replace("1}]}]", "1}]]]")).skipValue())
+            .withMessageStartingWith("Unexpected character ']'");
+    }
+
+    @Test
+    public void testNextValue() {
+        JsonReader reader = reader("[{\"a\": [1, 2]}, \"b\"]");
+
+        reader.beginArray();
+        assertThat(reader.nextValue()).isEqualTo(Json.parse("{\"a\": [1, 2]}"));
+        assertThat(reader.nextValue()).isEqualTo(Json.string("b"));
+        reader.endArray();
+    }
+
+    @Test
+    public void testTypeMismatch() {
+        JsonReader reader = reader("{\"a\": 1}");
+
+        assertThatExceptionOfType(JsonException.class)
+            .isThrownBy(reader::beginArray)
+            .withMessageStartingWith("Expected ArrayStart, got ObjectStart");
+        reader.beginObject();
+        assertThatExceptionOfType(JsonException.class)
+            .isThrownBy(reader::nextString)
+            .withMessageStartingWith("Expected String, got a name");
+        assertThat(reader.nextName()).isEqualTo("a");
+        assertThatExceptionOfType(JsonException.class)
+            .isThrownBy(reader::endObject)
+            .withMessageStartingWith("Expected ObjectEnd, got Number");
+    }
+
+    @Test
+    public void testTrailingContent() {
+        JsonReader reader = reader("1 2");
+
+        assertThat(reader.nextInt()).isEqualTo(1);
+        assertThatExceptionOfType(JsonException.class)
+            .isThrownBy(reader::peek)
+            .withMessageStartingWith("Not a single JSON document");
+    }
+
+    @Test
+    public void testLines() {
+        JsonReader reader = reader("{\"a\": [1, 2]}\n\n\"b\"\r\n  3\n[\n]\n").lines(true);
+
+        assertThat(reader.nextValue()).isEqualTo(Json.parse("{\"a\": [1, 2]}"));
+        assertThat(reader.nextString()).isEqualTo("b");
+        assertThat(reader.nextInt()).isEqualTo(3);
+        reader.beginArray();
+        reader.endArray();
+        assertThat(reader.hasNext()).isFalse();
+
+        assertThat(reader("").lines(true).hasNext()).isFalse();
+        assertThatExceptionOfType(JsonException.class)
+            .isThrownBy(() -> reader("1\n2 3").lines(true).values().count())
+            .withMessageStartingWith("Expected a new line before the next value");
+    }
+
+    @Test
+    public void testValues() {
+        assertThat(Json.parseLines(new StringReader("{\"a\":1}\n[true]\nnull\n\"x\"")))
+            .containsExactly(Json.parse("{\"a\":1}"), Json.parse("[true]"), Json.Null, Json.string("x"));
+
+        byte[] bytes = "1\n2\n3\n".getBytes(StandardCharsets.UTF_8);
+        try (Stream<JsonValue> values = Json.parseLines(new ByteArrayInputStream(bytes))) {
+            assertThat(values.mapToInt(JsonValue::asInt).sum()).isEqualTo(6);
+        }
+
+        // the elements of an open array stream as well
+        JsonReader reader = reader("{\"items\": [1, 2, 3], \"next\": 4}");
+        reader.beginObject();
+        reader.nextName();
+        reader.beginArray();
+        assertThat(reader.values()).containsExactly(Json.number(1), Json.number(2), Json.number(3));
+        reader.endArray();
+        assertThat(reader.nextName()).isEqualTo("next");
+    }
+
+    private static JsonReader reader(String json) {
+        return new JsonReader(new StringReader(json));
+    }
+
+    private static JsonValue walkDocument(byte[] bytes) {
+        JsonReader reader = new JsonReader(bytes, 0, bytes.length);
+        JsonValue value;
+        try {
+            value = walk(reader);
+        } catch (StackOverflowError e) {
+            throw new JsonException("Stack overflow");
+        }
+        if (reader.peek() != JsonTokenType.Eof) {
+            throw new IllegalStateException();
+        }
+        return value;
+    }
+
+    private static JsonValue walk(JsonReader reader) {
+        switch (reader.peek()) {
+            case ObjectStart:
+                JsonObject object = Json.object();
+                reader.beginObject();
+                while (reader.hasNext()) {
+                    String name = reader.nextName();
+                    object.add(name, walk(reader));
+                }
+                reader.endObject();
+                return object;
+            case ArrayStart:
+                JsonArray array = Json.array();
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    array.add(walk(reader));
+                }
+                reader.endArray();
+                return array;
+            case String:
+                return Json.string(reader.nextString());
+            case Number:
+                return Json.number(reader.nextNumber());
+            case True:
+            case False:
+                return Json.bool(reader.nextBoolean());
+            case Null:
+                reader.nextNull();
+                return Json.Null;
+            default:
+                throw new JsonException("Unexpected " + reader.peek());
+        }
+    }
+
+}
@@ -0,0 +1,142 @@
+package be.twofold.tinyjson.read;
+
+import be.twofold.tinyjson.*;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.*;
+import org.junit.jupiter.params.*;
+import org.junit.jupiter.params.provider.*;
+
+import java.io.*;
+import java.nio.channels.*;
+import java.nio.charset.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.stream.*;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class JsonTokenizerTest {
+
+    private static final Path Root = Paths.get("src/test/resources/JSONTestSuite/parsing");
+
+    public static List<String> getFileNames() throws Exception {
+        return Files.list(Root)
+            .map(path -> path.getFileName().toString())
+            .filter(name -> name.startsWith("y_"))
+            .collect(Collectors.toList());
+    }
+
+    @ParameterizedTest
+    @MethodSource("getFileNames")
+    public void testSmallBuffers(String filename) throws IOException {
+        byte[] bytes = Files.readAllBytes(Root.resolve(filename));
+        String json = new String(bytes, StandardCharsets.UTF_8);
+        JsonValue expected = Json.parse(json);
+
+        for (int bufferSize = 1; bufferSize <= 8; bufferSize++) {
+            JsonTokenizer chars = new CharTokenizer(new StringReader(json), bufferSize);
+            assertThat(new JsonParser(chars).parse()).isEqualTo(expected);
+
+            JsonTokenizer utf8 = new Utf8Tokenizer(new ByteArrayInputStream(bytes), bufferSize);
+            assertThat(new JsonParser(utf8).parse()).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    public void testStringsAcrossBuffers() {
+        String json = "[\"abc\\n\\u0041def\", \"𝄞\", \"äöü€\", 12345.678e-9]";
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+
+        List<JsonTokenizer> tokenizers = Arrays.asList(
+            new CharTokenizer(new StringReader(json), 3),
+            new Utf8Tokenizer(new ByteArrayInputStream(bytes), 3),
+            new Utf8Tokenizer(bytes, 0, bytes.length)
+        );
+        for (JsonTokenizer tokenizer : tokenizers) {
+            JsonArray array = new JsonParser(tokenizer).parse().asArray();
+            assertThat(array.getString(0)).isEqualTo("abc\nAdef");
+            assertThat(array.getString(1)).isEqualTo("𝄞");
+            assertThat(array.getString(2)).isEqualTo("äöü€");
+            assertThat(array.getNumber(3).toString()).isEqualTo("12345.678e-9");
+        }
+    }
+
+    @Test
+    public void testErrorPosition() {
+        String json = "{\n  \"a\": 1,\n  \"b\": tru\n}";
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+
+        assertThatExceptionOfType(JsonException.class)
+            .isThrownBy(() -> new JsonParser(new CharTokenizer(new StringReader(json), 4)).parse())
+            .withMessage("Expected 'true' literal at line 3 column 11");
+        assertThatExceptionOfType(JsonException.class)
+            .isThrownBy(() -> new JsonParser(new Utf8Tokenizer(new ByteArrayInputStream(bytes), 4)).parse())
+            .withMessage("Expected 'true' literal at line 3 column 11");
+    }
+
+    @Test
+    public void testUnpairedSurrogate() {
+        assertThatExceptionOfType(JsonException.class)
+            .isThrownBy(() -> Json.parse("[\"\uD834a\"]"))
+            .withMessageStartingWith("Unpaired high surrogate");
+        assertThatExceptionOfType(JsonException.class)
+            .isThrownBy(() -> Json.parse("[\"\uDD1E\"]"))
+            .withMessageStartingWith("Unpaired low surrogate");
+    }
+
+    @Test
+    public void testByteRange() {
+        byte[] bytes = "xx[1,\"a\"]yy".getBytes(StandardCharsets.UTF_8);
+
+        assertThat(Json.parse(bytes, 2, 7))
+            .isEqualTo(Json.array().add(Json.parse("1")).add("a"));
+        assertThatExceptionOfType(IndexOutOfBoundsException.class)
+            .isThrownBy(() -> Json.parse(bytes, 8, 7));
+    }
+
+    @Test
+    public void testMappedWindows(@TempDir Path directory) throws IOException {
+        String json = "{\"name\": \"äöü€𝄞\", \"values\": [1, 2.5, true, null]}";
+        Path path = directory.resolve("test.json");
+        Files.write(path, json.getBytes(StandardCharsets.UTF_8));
+
+        JsonValue expected = Json.parse(json);
+        assertThat(Json.parse(path)).isEqualTo(expected);
+        for (int windowSize = 1; windowSize <= 8; windowSize++) {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                MappedInputStream input = new MappedInputStream(channel, windowSize);
+                assertThat(new JsonParser(new Utf8Tokenizer(input)).parse()).isEqualTo(expected);
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "c0 80", // overlong
+        "e0 80 80", // overlong
+        "ed a0 80", // encoded surrogate
+        "f4 90 80 80", // beyond U+10FFFF
+        "e2 82", // truncated
+        "80", // lone continuation
+        "f8 88 80 80 80", // 5-byte form
+    })
+    public void testMalformedUtf8(String hex) {
+        String[] parts = hex.split(" ");
+        byte[] bytes = new byte[parts.length + 4];
+        bytes[0] = '[';
+        bytes[1] = '"';
+        for (int i = 0; i < parts.length; i++) {
+            bytes[i + 2] = (byte) Integer.parseInt(parts[i], 16);
+        }
+        bytes[bytes.length - 2] = '"';
+        bytes[bytes.length - 1] = ']';
+
+        assertThatExceptionOfType(JsonException.class)
+            .isThrownBy(() -> Json.parse(bytes))
+            .withMessageContaining("Invalid UTF-8");
+        assertThatExceptionOfType(JsonException.class)
+            .isThrownBy(() -> Json.parse(new ByteArrayInputStream(bytes)))
+            .withMessageContaining("Invalid UTF-8");
+    }
+
+}
@@ -0,0 +1,121 @@
+package be.twofold.tinyjson.read;
+
+import be.twofold.tinyjson.*;
+import nl.jqno.equalsverifier.*;
+import org.junit.jupiter.api.*;
+
+import java.io.*;
+import java.nio.charset.*;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class ParserOptionsTest {
+
+    @Test
+    public void testEqualsAndHashCode() {
+        EqualsVerifier
+            .forClass(ParserOptions.class)
+            .verify();
+    }
+
+    @Test
+    public void testInvalidLimits() {
+        assertThatIllegalArgumentException().isThrownBy(() -> ParserOptions.Default.withMaxDocumentLength(0));
+        assertThatIllegalArgumentException().isThrownBy(() -> ParserOptions.Default.withMaxStringLength(-1));
+        assertThatIllegalArgumentException().isThrownBy(() -> ParserOptions.Default.withMaxNumberLength(0));
+        assertThatIllegalArgumentException().isThrownBy(() -> ParserOptions.Default.withMaxDepth(0));
+        assertThatIllegalArgumentException().isThrownBy(() -> ParserOptions.Default.withMaxEntries(-1));
+    }
+
+    @Test
+    public void testMaxDocumentLength() {
+        ParserOptions options = ParserOptions.Default.withMaxDocumentLength(10);
+        assertThat(parse("[1, 2, 33]", options)).isEqualTo(Json.arrayOf(1, 2, 33));
+        assertThatLimitIsEnforced("[1, 2, 333]", options, "Document is longer than 10");
+
+        // streamed input is checked as it is read
+        String json = "[" + String.join(",", Collections.nCopies(10_000, "1")) + "]";
+        assertThatExceptionOfType(JsonException.class)
+            .isThrownBy(() -> new JsonParser(new StringReader(json)).options(options).parse());
+        assertThatExceptionOfType(JsonException.class)
+            .isThrownBy(() -> new JsonParser(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8))).options(options).parse());
+    }
+
+    @Test
+    public void testMaxStringLength() {
+        ParserOptions options = ParserOptions.Default.withMaxStringLength(3);
+        assertThat(parse("{\"abc\": \"\\u00e9\\u00e9\\u00e9\"}", options)).isEqualTo(Json.object().add("abc", "ééé"));
+        assertThat(parse("[\"ééé\"]", options)).isEqualTo(Json.array().add("ééé"));
+        assertThatLimitIsEnforced("[\"abcd\"]", options, "String is longer than 3");
+        assertThatLimitIsEnforced("{\"abcd\": 1}", options, "String is longer than 3");
+        assertThatLimitIsEnforced("[\"ab\\nc\"]", options, "String is longer than 3");
+        assertThatLimitIsEnforced("[\"éééé\"]", options, "String is longer than 3");
+    }
+
+    @Test
+    public void testMaxNumberLength() {
+        ParserOptions options = ParserOptions.Default.withMaxNumberLength(4);
+        assertThat(parse("[-12.34, 1e100]", options)).isEqualTo(Json.arrayOf(-12.34, 1e100));
+        assertThatLimitIsEnforced("[12345]", options, "Number is longer than 4 digits");
+        assertThatLimitIsEnforced("[1.2345]", options, "Number is longer than 4 digits");
+        assertThatLimitIsEnforced("[1e1000]", options, "Number is longer than 4 digits");
+
+        char[] digits = new char[1001];
+        Arrays.fill(digits, '1');
+        assertThatLimitIsEnforced(new String(digits), ParserOptions.Default, "Number is longer than 1000 digits");
+    }
+
+    @Test
+    public void testMaxDepth() {
+        ParserOptions options = ParserOptions.Default.withMaxDepth(2);
+        assertThat(parse("[{}]", options)).isEqualTo(Json.array().add(Json.object()));
+        assertThatLimitIsEnforced("[{\"a\": []}]", options, "Maximum depth of 2 exceeded");
+
+        JsonReader reader = new JsonReader(new StringReader("[[[1]]]")).options(options);
+        reader.beginArray();
+        reader.beginArray();
+        assertThatExceptionOfType(JsonException.class)
+            .isThrownBy(reader::beginArray)
+            .withMessageStartingWith("Maximum depth of 2 exceeded");
+
+        // values read as a whole count the containers the reader is already in
+        JsonReader nested = new JsonReader(new StringReader("[[[1]]]")).options(options);
+        nested.beginArray();
+        assertThatExceptionOfType(JsonException.class)
+            .isThrownBy(nested::nextValue)
+            .withMessageStartingWith("Maximum depth of 2 exceeded");
+
+        JsonReader shallow = new JsonReader(new StringReader("[[1], 2]")).options(options);
+        shallow.beginArray();
+        assertThat(shallow.values()).containsExactly(Json.arrayOf(1), Json.number(2));
+    }
+
+    @Test
+    public void testMaxEntries() {
+        ParserOptions options = ParserOptions.Default.withMaxEntries(2);
+        assertThat(parse("[[1, 2], {\"a\": 1, \"b\": [\"x\", {}]}]", options)).isNotNull();
+        assertThatLimitIsEnforced("[1, 2, 3]", options, "More than 2 entries");
+        assertThatLimitIsEnforced("[1.5, 2, 3]", options, "More than 2 entries");
+        assertThatLimitIsEnforced("[\"a\", 2, 3]", options, "More than 2 entries");
+        assertThatLimitIsEnforced("{\"a\": 1, \"b\": 2, \"c\": 3}", options, "More than 2 entries");
+    }
+
+    private static JsonValue parse(String json, ParserOptions options) {
+        JsonValue value = new JsonParser(new StringReader(json)).options(options).parse();
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        assertThat(new JsonParser(bytes, 0, bytes.length).options(options).parse()).isEqualTo(value);
+        return value;
+    }
+
+    private static void assertThatLimitIsEnforced(String json, ParserOptions options, String message) {
+        assertThatExceptionOfType(JsonException.class)
+            .isThrownBy(() -> new JsonParser(new StringReader(json)).options(options).parse())
+            .withMessageStartingWith(message);
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        assertThatExceptionOfType(JsonException.class)
+            .isThrownBy(() -> new JsonParser(bytes, 0, bytes.length).options(options).parse())
+            .withMessageStartingWith(message);
+    }
+
+}
@@ -0,0 +1,54 @@
+package be.twofold.tinyjson.read;
+
+import be.twofold.tinyjson.*;
+import org.junit.jupiter.api.*;
+
+import java.io.*;
+import java.nio.charset.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class ParserPoolTest {
+
+    @Test
+    public void testParse() {
+        ParserPool pool = new ParserPool(1, ParserOptions.Default.withMaxEntries(3));
+        byte[] bytes = "[1, 2, 3]".getBytes(StandardCharsets.UTF_8);
+
+        assertThat(pool.parse(bytes, 0, bytes.length)).isEqualTo(Json.arrayOf(1, 2, 3));
+        assertThat(pool.parse(new ByteArrayInputStream(bytes))).isEqualTo(Json.arrayOf(1, 2, 3));
+        assertThat(pool.parse(new StringReader("{\"a\": null}"))).isEqualTo(Json.object().add("a", Json.Null));
+        assertThatExceptionOfType(JsonException.class).isThrownBy(() -> pool.parse(new StringReader("[1, 2, 3, 4]")));
+        assertThatExceptionOfType(JsonException.class).isThrownBy(() -> pool.parse(new StringReader("[1, ")));
+        assertThat(pool.parse(new StringReader("[true]"))).isEqualTo(Json.array().add(true));
+        assertThatIllegalArgumentException().isThrownBy(() -> new ParserPool(0));
+    }
+
+    @Test
+    public void testConcurrentUse() throws Exception {
+        ParserPool pool = new ParserPool(2);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Boolean>> futures = new ArrayList<>();
+            for (int i = 0; i < 1000; i++) {
+                int n = i;
+                futures.add(executor.submit(() -> {
+                    String json = "{\"n\": " + n + ", \"s\": \"" + n + "\", \"a\": [" + n + ", " + n + ".5]}";
+                    JsonObject object = (n % 2 == 0 ? pool.parse(new StringReader(json))
+                        : pool.parse(json.getBytes(StandardCharsets.UTF_8), 0, json.length())).asObject();
+                    return object.getInt("n") == n
+                        && object.getString("s").equals(String.valueOf(n))
+                        && object.getArray("a").getDouble(1) == n + 0.5;
+                }));
+            }
+            for (Future<Boolean> future : futures) {
+                assertThat(future.get()).isTrue();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+}
@@ -0,0 +1,79 @@
+package be.twofold.tinyjson.read;
+
+import org.junit.jupiter.api.*;
+
+import java.io.*;
+import java.math.*;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class StringNumberTest {
+
+    @Test
+    public void testLongs() {
+        for (String s : Arrays.asList("0", "-0", "7", "-42", "9223372036854775807", "-9223372036854775808",
+            "9223372036854775808", "-9223372036854775809", "18446744073709551615", "99999999999999999999999")) {
+            assertDecodes(s);
+        }
+    }
+
+    @Test
+    public void testDecimals() {
+        for (String s : Arrays.asList("0.0", "-0.0", "1.5", "-1.5", "0.1", "1e2", "1.5e1", "1E+2", "12345.678e-9",
+            "0.9999999999999999999", "1.00000000000000000001", "123456789012345678901234567890e-10",
+            "4.9e-324", "2e-324", "2.2250738585072014E-308", "1.7976931348623157e308", "1.8e308", "1e400",
+            "1e-400", "0e1000000", "9007199254740993", "1e99999999999", "-1e-999")) {
+            assertDecodes(s);
+        }
+    }
+
+    @Test
+    public void testRandomDoubles() {
+        Random random = new Random(42);
+        for (int i = 0; i < 50_000; i++) {
+            double value = Double.longBitsToDouble(random.nextLong());
+            if (Double.isFinite(value)) {
+                assertDecodes(Double.toString(value));
+                assertDecodes(new BigDecimal(value).round(new MathContext(1 + random.nextInt(25))).toString());
+            }
+        }
+    }
+
+    @Test
+    public void testRandomDigits() {
+        Random random = new Random(42);
+        for (int i = 0; i < 50_000; i++) {
+            StringBuilder builder = new StringBuilder();
+            builder.append(1 + random.nextInt(9));
+            for (int j = random.nextInt(25); j > 0; j--) {
+                builder.append(random.nextInt(10));
+            }
+            if (random.nextBoolean()) {
+                builder.insert(1 + random.nextInt(builder.length()), '.');
+                if (builder.charAt(builder.length() - 1) == '.') {
+                    builder.append('0');
+                }
+            }
+            if (random.nextBoolean()) {
+                builder.append('e').append(random.nextInt(700) - 350);
+            }
+            assertDecodes(builder.toString());
+        }
+    }
+
+    private static void assertDecodes(String s) {
+        Number number = new JsonReader(new StringReader(s)).nextNumber();
+        assertThat(number.toString()).isEqualTo(s);
+        assertThat(number.doubleValue()).as(s).isEqualTo(Double.parseDouble(s));
+        assertThat(number.floatValue()).as(s).isEqualTo(Float.parseFloat(s));
+        assertThat(new JsonReader(new StringReader(s)).nextDouble()).as(s).isEqualTo(Double.parseDouble(s));
+        if (Math.abs(Double.parseDouble(s)) < 1e30) {
+            assertThat(number.longValue()).as(s).isEqualTo(new BigDecimal(s).longValue());
+            assertThat(number.intValue()).as(s).isEqualTo(new BigDecimal(s).intValue());
+            assertThat(new JsonReader(new StringReader(s)).nextLong()).as(s).isEqualTo(new BigDecimal(s).longValue());
+            assertThat(new JsonReader(new StringReader(s)).nextInt()).as(s).isEqualTo(new BigDecimal(s).intValue());
+        }
+    }
+
+}